@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Compara dos resultados JSON de JMH (mvn -Pjmh verify deja target/jmh-result.json).
+# Uso: scripts/jmh-compare.sh base.json nuevo.json
+# Muestra por benchmark (y parámetros) el throughput, la asignación por operación y la variación.
+set -euo pipefail
+
+if [[ $# -ne 2 ]]; then
+  echo "Usage: $0 <base.json> <new.json>" >&2
+  exit 1
+fi
+
+extract() {
+  jq -r '.[] | [
+      (.benchmark | sub("^com\\.groupName\\.artefactName\\."; "")) + ((.params // {}) | to_entries | map("[" + .key + "=" + .value + "]") | join("")),
+      .primaryMetric.score,
+      (.secondaryMetrics["gc.alloc.rate.norm"].score // 0)
+    ] | @tsv' "$1" | sort
+}
+
+join -t $'\t' <(extract "$1") <(extract "$2") | awk -F'\t' '
+  BEGIN { printf "%-70s %14s %14s %8s %12s %12s\n", "benchmark", "base ops/s", "new ops/s", "delta", "base B/op", "new B/op" }
+  { delta = ($2 > 0) ? ($4 - $2) / $2 * 100 : 0
+    printf "%-70s %14.0f %14.0f %+7.1f%% %12.0f %12.0f\n", $1, $2, $4, delta, $3, $5 }'
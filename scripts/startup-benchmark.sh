@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta readiness (/actuator/health/readiness = 200) de cada modo de arranque.
+#
+# Uso (tras "mvn -Pfast-startup package"):
+#   scripts/startup-benchmark.sh [iteraciones] [puerto]
+#
+# Modos:
+#   jar      java -jar target/<app>.jar
+#   cds      jar desempaquetado + archivo AppCDS
+#   cds-aot  jar desempaquetado + AppCDS + clases de Spring AOT
+#
+# Resultado: target/startup-benchmark.csv (una fila por arranque) y un resumen por modo en la salida.
+set -euo pipefail
+
+ITERACIONES="${1:-5}"
+PUERTO="${2:-18080}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "$TARGET"/*.jar | grep -v original | head -n 1)"
+EXTRAIDO="$TARGET/extracted/$(basename "$JAR")"
+CSV="$TARGET/startup-benchmark.csv"
+READINESS="http://localhost:$PUERTO/actuator/health/readiness"
+TIMEOUT_SEGUNDOS=120
+
+if [[ ! -f "$EXTRAIDO" || ! -f "$TARGET/extracted/application.jsa" ]]; then
+    echo "Falta target/extracted: ejecutar antes mvn -Pfast-startup package" >&2
+    exit 1
+fi
+
+declare -A COMANDOS=(
+    [jar]="java -jar $JAR"
+    [cds]="java -XX:SharedArchiveFile=$TARGET/extracted/application.jsa -jar $EXTRAIDO"
+    [cds-aot]="java -XX:SharedArchiveFile=$TARGET/extracted/application.jsa -Dspring.aot.enabled=true -jar $EXTRAIDO"
+)
+MODOS=(jar cds cds-aot)
+
+ahora_ms() {
+    date +%s%3N
+}
+
+arrancar() {
+    local modo="$1"
+    local inicio fin pid
+    inicio=$(ahora_ms)
+    # shellcheck disable=SC2086
+    ${COMANDOS[$modo]} --server.port="$PUERTO" > "$TARGET/startup-$modo.log" 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "$READINESS"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "El modo $modo terminó antes de estar listo; ver $TARGET/startup-$modo.log" >&2
+            exit 1
+        fi
+        if (( $(ahora_ms) - inicio > TIMEOUT_SEGUNDOS * 1000 )); then
+            kill "$pid"
+            echo "El modo $modo no alcanzó readiness en ${TIMEOUT_SEGUNDOS}s" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    fin=$(ahora_ms)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(( fin - inicio ))
+}
+
+echo "mode,iteration,ready_ms" > "$CSV"
+for modo in "${MODOS[@]}"; do
+    # Primer arranque descartado: calienta la caché de disco del sistema operativo
+    arrancar "$modo" > /dev/null
+    for ((i = 1; i <= ITERACIONES; i++)); do
+        ms=$(arrancar "$modo")
+        echo "$modo,$i,$ms" >> "$CSV"
+    done
+done
+
+echo "Tiempo hasta readiness (ms), $ITERACIONES arranques por modo:"
+for modo in "${MODOS[@]}"; do
+    grep "^$modo," "$CSV" | cut -d, -f3 | sort -n | awk -v modo="$modo" '
+        { valores[NR] = $1; suma += $1 }
+        END { printf "  %-8s min %6d  mediana %6d  media %8.1f\n", modo, valores[1], valores[int((NR + 1) / 2)], suma / NR }'
+done
+echo "Detalle en $CSV"
@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Compara el rendimiento con alta concurrencia entre hilos de plataforma (pool de Tomcat) e hilos
+# virtuales, con el mismo jar compilado para Java 21 (mvn -Pjava21 package) y la herramienta "hey".
+#
+# Uso:
+#   TOKEN=<jwt> scripts/virtual-threads-benchmark.sh [ruta] [concurrencia] [duracion]
+#   TOKEN=$(...) scripts/virtual-threads-benchmark.sh "/api/filter/user?size=20" 1000 30s
+#
+# La ruta debe ser un endpoint con E/S (consulta a base de datos); /actuator/health no es representativo.
+# Resultado: target/virtual-threads-<modo>.txt con el informe de hey de cada modo.
+set -euo pipefail
+
+RUTA="${1:-/api/filter/user?size=20}"
+CONCURRENCIA="${2:-1000}"
+DURACION="${3:-30s}"
+PUERTO="${PUERTO:-18080}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "$TARGET"/*.jar | grep -v original | head -n 1)"
+BASE="http://localhost:$PUERTO"
+
+command -v hey > /dev/null || { echo "Se necesita hey (https://github.com/rakyll/hey)" >&2; exit 1; }
+
+ejecutar() {
+    local modo="$1" perfiles="$2"
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --server.port="$PUERTO" \
+        --spring.profiles.active="$perfiles" > "$TARGET/virtual-threads-$modo.log" 2>&1 &
+    local pid=$!
+    until curl -fs -o /dev/null "$BASE/actuator/health/readiness"; do
+        kill -0 "$pid" 2>/dev/null || { echo "La aplicación ($modo) no arrancó" >&2; exit 1; }
+        sleep 0.2
+    done
+    # Calentamiento (JIT, pools) antes de medir
+    hey -z 5s -c 50 -H "Authorization: Bearer ${TOKEN:-}" "$BASE$RUTA" > /dev/null
+    hey -z "$DURACION" -c "$CONCURRENCIA" -H "Authorization: Bearer ${TOKEN:-}" "$BASE$RUTA" \
+        > "$TARGET/virtual-threads-$modo.txt"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "== $modo"
+    grep -E "Requests/sec|Average|99%|\[[0-9]{3}\]" "$TARGET/virtual-threads-$modo.txt"
+    # Con -Djdk.tracePinnedThreads la JVM informa de cada portador fijado en el log de la aplicación
+    echo "   portadores fijados: $(grep -c "onPinned\|<== monitors" "$TARGET/virtual-threads-$modo.log" || true)"
+}
+
+ejecutar platform default
+ejecutar virtual default,virtual-threads
@@ -0,0 +1,60 @@
+package com.groupName.artefactName.controlador;
+
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de la respuesta de error: 4xx (una línea de log) y 5xx repetido (traza ya
+ * muestreada, solo se cuenta). El log va a un contexto sin appenders (logback-test.xml del perfil
+ * jmh), así que se mide el handler y no la consola.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private BusinessLogicException clientError;
+    private IllegalStateException serverError;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        handler.setStackTraceInterval(Duration.ofHours(1));
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/filter/usuarios"));
+        clientError = new BusinessLogicException("Invalid filter value");
+        serverError = new IllegalStateException("boom");
+        // La primera aparición registra la traza completa; las siguientes son el caso medido
+        handler.handleGenericException(serverError, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> clientError() {
+        return handler.handleBusinessLogicException(clientError, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> sampledServerError() {
+        return handler.handleGenericException(serverError, request);
+    }
+}
@@ -0,0 +1,65 @@
+package com.groupName.artefactName.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de un evento de Logback al documento de MongoDB, sin la inserción: es el trabajo que
+ * hace el hilo del AsyncAppender por cada línea de log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MongoDbAppenderBenchmark {
+
+    private MongoDbAppender appender;
+    private LoggingEvent info;
+    private LoggingEvent error;
+
+    @Setup
+    public void setUp() {
+        appender = new MongoDbAppender();
+        appender.setApplicationName("artefactName");
+        Logger logger = new LoggerContext().getLogger("com.groupName.artefactName.Benchmark");
+
+        info = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "Request {} served in {} ms",
+                null, new Object[]{"/api/filter/usuarios", 12});
+        info.setMDCPropertyMap(Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736"));
+
+        error = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "Unhandled error",
+                new IllegalStateException("boom", new IllegalArgumentException("cause")), null);
+        error.setMDCPropertyMap(Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736"));
+        // Los eventos se formatean una vez al encolarse; se precalcula para medir solo la conversión
+        info.getFormattedMessage();
+        error.getThrowableProxy();
+    }
+
+    @Benchmark
+    public Document infoEvent() {
+        return appender.toDocument(info);
+    }
+
+    @Benchmark
+    public Document errorEventWithStackTrace() {
+        return appender.toDocument(error);
+    }
+}
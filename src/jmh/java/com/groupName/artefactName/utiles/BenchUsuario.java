@@ -0,0 +1,20 @@
+package com.groupName.artefactName.utiles;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.time.LocalDate;
+
+/**
+ * Entidad mínima para obtener un metamodelo real en FilterTypeInfererBenchmark.
+ */
+@Entity
+public class BenchUsuario {
+
+    @Id
+    private Long id;
+    private String nombre;
+    private Integer edad;
+    private LocalDate alta;
+    private Boolean activo;
+}
@@ -0,0 +1,73 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.TextSearchProperties;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inferencia de tipo y construcción del predicado Criteria para un parámetro de filtro, por tipo
+ * de atributo (texto, número, fecha, booleano).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterTypeInfererBenchmark {
+
+    @Param({"nombre=ana", "edad=42", "alta=2024-01-31", "activo=true"})
+    public String filtro;
+
+    private SessionFactory sessionFactory;
+    private FilterTypeInferer inferer;
+    private CriteriaBuilder criteriaBuilder;
+    private Root<BenchUsuario> root;
+    private EntityType<BenchUsuario> entityType;
+    private String atributo;
+    private String valor;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(BenchUsuario.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        inferer = new FilterTypeInferer(new TextSearchProperties(), DatabaseType.H2, null);
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        root = criteriaBuilder.createQuery(BenchUsuario.class).from(BenchUsuario.class);
+        entityType = sessionFactory.getMetamodel().entity(BenchUsuario.class);
+        atributo = filtro.substring(0, filtro.indexOf('='));
+        valor = filtro.substring(filtro.indexOf('=') + 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate inferPredicate() {
+        return inferer.inferPredicate(criteriaBuilder, root, atributo, valor, entityType);
+    }
+}
@@ -0,0 +1,21 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.utiles.RequestDeadline;
+import com.groupName.artefactName.utiles.TraceContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Contexto de la petición en las tareas asíncronas.
+ */
+@Configuration
+public class AsyncConfig {
+
+    // El executor de Spring MVC continúa las respuestas asíncronas en otro hilo; conserva el plazo
+    // y el MDC (traceId). Spring Boot solo aplica el decorador si hay uno, así que van juntos
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return tarea -> RequestDeadline.propagate(TraceContext.propagate(tarea));
+    }
+}
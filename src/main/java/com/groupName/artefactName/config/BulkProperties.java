@@ -0,0 +1,38 @@
+package com.groupName.artefactName.config;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entidades y campos que /api/bulk puede escribir. Un elemento con cualquier otro campo se rechaza;
+ * incluir el id en la lista permite actualizar por id. Sin configuración no se admite ninguna entidad.
+ *
+ * Ejemplo en application.properties (nombre JPA de la entidad, sin distinguir mayúsculas):
+ * bulk.entities.User=id,denomination,correo
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "bulk")
+public class BulkProperties {
+
+    private Map<String, List<String>> entities = new HashMap<>();
+
+    /**
+     * @throws EntityNotFoundException si la entidad no admite carga masiva (misma respuesta que si no existiera).
+     */
+    public List<String> fields(String entidad) {
+        return entities.entrySet().stream()
+                .filter(entrada -> entrada.getKey().equalsIgnoreCase(entidad))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Entity not writable in bulk: " + entidad));
+    }
+}
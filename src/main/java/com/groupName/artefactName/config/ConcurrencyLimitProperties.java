@@ -0,0 +1,68 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Control de admisión por concurrencia adaptativa (ver AdaptiveLimiter).
+ *
+ * Ejemplo en application.properties:
+ * concurrency-limit.groups.critical.patterns=/api/login,/actuator/health/**
+ * concurrency-limit.groups.critical.share=1.0
+ * concurrency-limit.groups.heavy.patterns=/api/export/**,/api/bulk/**
+ * concurrency-limit.groups.heavy.share=0.5
+ * concurrency-limit.groups.heavy.max-concurrency=20
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 100;
+
+    private int minLimit = 10;
+
+    private int maxLimit = 1000;
+
+    /**
+     * Cuánto puede crecer la latencia reciente sobre la de referencia antes de reducir el límite.
+     */
+    private double tolerance = 1.5;
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Cuota del límite para las rutas que no pertenecen a ningún grupo.
+     */
+    private double defaultShare = 0.8;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * Fracción del límite adaptativo que pueden ocupar las peticiones del grupo (prioridad).
+         */
+        private double share = 1.0;
+
+        /**
+         * Tope fijo de peticiones simultáneas del grupo; negativo para no limitar.
+         */
+        private int maxConcurrency = -1;
+    }
+}
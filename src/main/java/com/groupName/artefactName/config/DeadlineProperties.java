@@ -0,0 +1,37 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Plazo máximo por petición.
+ *
+ * Ejemplo en application.properties (patrones Ant; gana el más específico):
+ * deadline.default-timeout=30s
+ * deadline.endpoints.[/api/export/**]=30m
+ *
+ * El cliente puede pedir otro plazo con la cabecera X-Request-Timeout ("5s", "500ms" o milisegundos),
+ * limitado por deadline.max-timeout.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    private String header = "X-Request-Timeout";
+
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    private Duration maxTimeout = Duration.ofMinutes(5);
+
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+}
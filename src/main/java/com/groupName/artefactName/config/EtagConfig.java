@@ -0,0 +1,23 @@
+package com.groupName.artefactName.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETag de las listas filtradas a partir del cuerpo ya generado: no añade ninguna consulta a la
+ * página y cubre todo lo que lleva la respuesta (fields, expand, total, hasNext). Con un
+ * If-None-Match coincidente se responde 304 sin enviar el cuerpo.
+ */
+@Configuration
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> filterEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registro = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        // Solo las listas: las exportaciones son streaming y no deben acumularse en memoria
+        registro.addUrlPatterns("/api/filter/*");
+        return registro;
+    }
+}
@@ -0,0 +1,55 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Exportaciones en segundo plano (ver ExportJobService).
+ *
+ * Ejemplo en application.properties:
+ * export-jobs.directory=/var/lib/artefactName/exports
+ * export-jobs.workers=2
+ * export-jobs.chunk-size=5000
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "export-jobs")
+public class ExportJobProperties {
+
+    private boolean enabled = true;
+
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "artefactName-exports");
+
+    /**
+     * Trabajos procesados a la vez; el resto espera en la cola.
+     */
+    private int workers = 2;
+
+    /**
+     * Trabajos en espera admitidos antes de responder 503.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Filas por bloque. El progreso se guarda al final de cada bloque y un trabajo interrumpido
+     * continúa desde el último bloque completo.
+     */
+    private int chunkSize = 5000;
+
+    /**
+     * Identificador de este nodo: los ficheros son locales, así que cada nodo solo reanuda los suyos.
+     * Vacío para usar el nombre de la máquina.
+     */
+    private String node;
+
+    /**
+     * Tiempo que se conservan el fichero y el estado de un trabajo terminado.
+     */
+    private Duration retention = Duration.ofDays(1);
+}
@@ -0,0 +1,68 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entidades y columnas exportables por /api/export y /api/export-jobs. Lo que no aparece aquí no se
+ * exporta ni se puede usar como filtro ni como orden de una exportación: sin configuración no hay nada
+ * exportable.
+ *
+ * Ejemplo en application.properties (nombre JPA de la entidad, sin distinguir mayúsculas):
+ * export.entities.User=id,correo,denomination
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+
+    private Map<String, List<String>> entities = new HashMap<>();
+
+    public List<String> columns(String entidad, List<String> campos, Map<String, String> filtros) {
+        return columns(entidad, campos, filtros, Sort.unsorted());
+    }
+
+    /**
+     * Columnas a exportar: las pedidas, o todas las permitidas si no se pide ninguna.
+     * @throws EntityNotFoundException si la entidad no es exportable (misma respuesta que si no existiera).
+     * @throws BusinessLogicException si se pide, se filtra o se ordena por una columna no permitida.
+     */
+    public List<String> columns(String entidad, List<String> campos, Map<String, String> filtros, Sort sort) {
+        List<String> permitidas = entities.entrySet().stream()
+                .filter(entrada -> entrada.getKey().equalsIgnoreCase(entidad))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Entity not exportable: " + entidad));
+        for (String campo : campos) {
+            if (!permitidas.contains(campo)) {
+                throw new BusinessLogicException("Field not exportable: " + campo);
+            }
+        }
+        for (String filtro : filtros.keySet()) {
+            // Un filtro sobre una columna oculta revelaría su contenido fila a fila
+            int punto = filtro.indexOf('.');
+            if (!permitidas.contains(punto < 0 ? filtro : filtro.substring(0, punto))) {
+                throw new BusinessLogicException("Filter not allowed on export: " + filtro);
+            }
+        }
+        for (Sort.Order orden : sort) {
+            // Igual con el orden: la posición de cada fila delataría el valor de la columna
+            String propiedad = orden.getProperty();
+            int punto = propiedad.indexOf('.');
+            if (!permitidas.contains(punto < 0 ? propiedad : propiedad.substring(0, punto))) {
+                throw new BusinessLogicException("Sort not allowed on export: " + propiedad);
+            }
+        }
+        return campos.isEmpty() ? permitidas : campos;
+    }
+}
@@ -0,0 +1,54 @@
+package com.groupName.artefactName.config;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Entidades, columnas y asociaciones consultables por /api/filter. Las columnas son las únicas que se
+ * devuelven, filtran u ordenan; las asociaciones, las únicas que admite {@code expand=} (o un grafo con
+ * nombre). Sin configuración no hay ninguna entidad consultable.
+ *
+ * Ejemplo en application.properties (nombre JPA de la entidad, sin distinguir mayúsculas):
+ * filter.entities.User=id,correo,denomination
+ * filter.expand.User=company
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "filter")
+public class FilterProperties {
+
+    private Map<String, List<String>> entities = new HashMap<>();
+    private Map<String, List<String>> expand = new HashMap<>();
+
+    /**
+     * @throws EntityNotFoundException si la entidad no es consultable (misma respuesta que si no existiera).
+     */
+    public List<String> columns(String entidad) {
+        return find(entities, entidad)
+                .orElseThrow(() -> new EntityNotFoundException("Entity not filterable: " + entidad));
+    }
+
+    public boolean isFilterable(String entidad) {
+        return find(entities, entidad).isPresent();
+    }
+
+    public List<String> associations(String entidad) {
+        return find(expand, entidad).orElse(List.of());
+    }
+
+    private static Optional<List<String>> find(Map<String, List<String>> listas, String entidad) {
+        return listas.entrySet().stream()
+                .filter(entrada -> entrada.getKey().equalsIgnoreCase(entidad))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+}
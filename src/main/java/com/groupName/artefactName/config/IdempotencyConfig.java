@@ -0,0 +1,23 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.utiles.IdempotencyStore;
+import com.groupName.artefactName.utiles.InMemoryIdempotencyStore;
+import com.groupName.artefactName.utiles.JdbcIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, DataSource dataSource) {
+        return switch (properties.getStore()) {
+            case JDBC -> new JdbcIdempotencyStore(dataSource, properties.getTtl(), properties.getLockTimeout());
+            case MEMORY -> new InMemoryIdempotencyStore(properties.getTtl(), properties.getLockTimeout(), properties.getMaxEntries());
+        };
+    }
+}
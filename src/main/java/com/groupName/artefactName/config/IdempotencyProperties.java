@@ -0,0 +1,68 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cabecera Idempotency-Key en POST/PUT/PATCH (ver IdempotencyFilter).
+ *
+ * Ejemplo en application.properties:
+ * idempotency.store=jdbc
+ * idempotency.ttl=24h
+ * idempotency.wait-timeout=30s
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+
+    private boolean enabled = true;
+
+    private String header = "Idempotency-Key";
+
+    /**
+     * MEMORY sirve para un solo nodo; JDBC comparte las claves entre nodos a través del datasource.
+     */
+    private Store store = Store.MEMORY;
+
+    /**
+     * Tiempo que se conserva una respuesta para reenviarla.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Tiempo tras el cual una ejecución en curso se da por abandonada (nodo caído a mitad).
+     */
+    private Duration lockTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Cuánto espera un duplicado a que termine la ejecución en curso antes de responder 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    private int maxEntries = 10_000;
+
+    /**
+     * Las respuestas más grandes no se guardan: un reintento vuelve a ejecutarse.
+     */
+    private DataSize maxResponseSize = DataSize.ofKilobytes(256);
+
+    /**
+     * Rutas sin idempotencia (patrones Ant): el login, que es anónimo, y las que leen el cuerpo en
+     * streaming, que no se puede retener para calcular su huella.
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/login", "/api/bulk/**", "/api/uploads"));
+}
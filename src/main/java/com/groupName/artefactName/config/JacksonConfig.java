@@ -0,0 +1,39 @@
+package com.groupName.artefactName.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    // Las asociaciones lazy no pedidas con expand= se serializan como {"id": ...} sin lanzar consultas
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        Hibernate6Module module = new Hibernate6Module();
+        module.configure(Hibernate6Module.Feature.FORCE_LAZY_LOADING, false);
+        module.configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
+        return module;
+    }
+
+    /*
+     * Formatos binarios para las llamadas entre servicios, elegidos por Accept / Content-Type
+     * (application/cbor, application/x-jackson-smile). Se construyen con el builder de Boot para que
+     * usen los mismos módulos y opciones que el JSON: los DTOs no cambian. Spring MVC añadiría sus
+     * propios conversores CBOR/Smile, pero con un builder nuevo que no ve esta configuración.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
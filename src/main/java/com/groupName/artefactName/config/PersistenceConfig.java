@@ -0,0 +1,26 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.utiles.DatabaseType;
+import com.groupName.artefactName.utiles.QueryCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public DatabaseType databaseType(@Value("${spring.datasource.url:}") String jdbcUrl) {
+        return DatabaseType.fromJdbcUrl(jdbcUrl);
+    }
+
+    // Necesario para que QueryCountFilter pueda contar las sentencias de cada petición
+    @Bean
+    @ConditionalOnProperty(name = "query-count.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+}
@@ -0,0 +1,64 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.utiles.ReadReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enruta las transacciones {@code @Transactional(readOnly = true)} a las réplicas y el resto al primario.
+ *
+ * El proxy perezoso retrasa la obtención de la conexión física hasta la primera sentencia; para
+ * entonces la transacción ya ha marcado la conexión como de solo lectura y el proxy la pide al
+ * conjunto de réplicas en lugar de al primario.
+ */
+@Configuration
+@ConditionalOnProperty(name = "read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaDataSource readReplicaDataSource(HikariDataSource primaryDataSource,
+                                                       DataSourceProperties properties,
+                                                       ReadReplicaProperties replicaProperties) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<ReadReplicaProperties.Node> nodes = replicaProperties.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            ReadReplicaProperties.Node node = nodes.get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() != null ? node.getUsername() : properties.determineUsername());
+            replica.setPassword(node.getPassword() != null ? node.getPassword() : properties.determinePassword());
+            replica.setReadOnly(true);
+            // Arranca aunque la réplica no esté disponible; la comprobación periódica la incorporará
+            replica.setInitializationFailTimeout(-1);
+            // Una réplica caída debe ceder rápido al primario en lugar de agotar el timeout por defecto
+            replica.setConnectionTimeout(2000);
+            replicas.add(replica);
+        }
+        return new ReadReplicaDataSource(primaryDataSource, replicas, replicaProperties.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicaDataSource readReplicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(readReplicaDataSource);
+        return proxy;
+    }
+}
@@ -0,0 +1,42 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura para las transacciones {@code readOnly}.
+ *
+ * Ejemplo en application.properties (usuario y contraseña se heredan de spring.datasource si se omiten):
+ * read-replicas.enabled=true
+ * read-replicas.nodes[0].url=jdbc:postgresql://replica-1:5432/app
+ * read-replicas.nodes[1].url=jdbc:postgresql://replica-2:5432/app
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    private List<Node> nodes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Node {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
@@ -0,0 +1,29 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tamaño máximo del cuerpo por endpoint (patrones Ant; gana el más específico).
+ *
+ * Ejemplo en application.properties:
+ * request-limits.default-max-body=256KB
+ * request-limits.endpoints.[/api/login]=2KB
+ * request-limits.endpoints.[/api/bulk/**]=1GB
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "request-limits")
+public class RequestLimitProperties {
+
+    private DataSize defaultMaxBody = DataSize.ofKilobytes(256);
+
+    private Map<String, DataSize> endpoints = new LinkedHashMap<>();
+}
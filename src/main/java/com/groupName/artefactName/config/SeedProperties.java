@@ -0,0 +1,40 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carga de datos semilla desde ficheros {@code <tabla>.csv} (con cabecera) o {@code <tabla>.ndjson}.
+ *
+ * Ejemplo en application.properties:
+ * seed.enabled=true
+ * seed.location=file:src/main/dev/seed
+ * seed.background=true
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "seed")
+public class SeedProperties {
+
+    private boolean enabled;
+
+    private String location = "file:src/main/dev/seed";
+
+    /**
+     * Carga en segundo plano; el indicador de salud seedLoader mantiene la readiness en OUT_OF_SERVICE hasta terminar.
+     */
+    private boolean background = true;
+
+    /**
+     * Tablas de un mismo nivel de dependencias cargadas a la vez.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Filas por batch JDBC cuando la base no ofrece una ruta de carga nativa.
+     */
+    private int batchSize = 1000;
+}
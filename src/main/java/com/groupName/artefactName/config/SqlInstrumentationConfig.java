@@ -0,0 +1,73 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.utiles.DeadlineQueryListener;
+import com.groupName.artefactName.utiles.SqlStatementListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envuelve el DataSource de la aplicación con datasource-proxy y le engancha los listeners
+ * activos: instrumentación de sentencias y plazos por petición.
+ *
+ * Solo se envuelve el bean {@code dataSource}: con réplicas de lectura es el proxy que enruta
+ * entre primario y réplicas, así que ambas rutas quedan cubiertas sin tocar los pools subyacentes.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    @ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+    public SqlStatementListener sqlStatementListener(MeterRegistry meterRegistry,
+                                                     @Value("${sql.instrumentation.slow-threshold:500ms}") Duration slowThreshold,
+                                                     @Value("${sql.instrumentation.redact-parameters:true}") boolean redactParameters) {
+        return new SqlStatementListener(meterRegistry, slowThreshold, redactParameters);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "deadline.enabled", havingValue = "true", matchIfMissing = true)
+    public DeadlineQueryListener deadlineQueryListener() {
+        return new DeadlineQueryListener();
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> queryListeners,
+                                                                ObjectProvider<MethodExecutionListener> methodListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                List<QueryExecutionListener> listeners = queryListeners.orderedStream().toList();
+                if (listeners.isEmpty()) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(DATA_SOURCE_BEAN);
+                listeners.forEach(builder::listener);
+                List<MethodExecutionListener> metodos = methodListeners.orderedStream().toList();
+                if (!metodos.isEmpty()) {
+                    metodos.forEach(builder::methodListener);
+                    // Salvo en las exportaciones en streaming, que no pagan el proxy en cada fila
+                    builder.proxyResultSet().jdbcProxyFactory(SqlStatementListener.jdbcProxyFactory());
+                }
+                return builder.build();
+            }
+        };
+    }
+}
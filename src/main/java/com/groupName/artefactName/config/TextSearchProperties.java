@@ -0,0 +1,40 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.utiles.TextSearchMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estrategia de búsqueda de texto por atributo.
+ *
+ * Ejemplo en application.properties (los corchetes conservan el punto de la clave):
+ * filter.text-search.default-mode=CONTAINS
+ * filter.text-search.attributes.[User.correo]=PREFIX
+ * filter.text-search.attributes.[User.denomination]=FULL_TEXT
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "filter.text-search")
+public class TextSearchProperties {
+
+    private TextSearchMode defaultMode = TextSearchMode.CONTAINS;
+
+    /**
+     * Clave "Entidad.atributo" (nombre JPA de la entidad).
+     */
+    private Map<String, TextSearchMode> attributes = new HashMap<>();
+
+    public TextSearchMode modeFor(String entityName, String attributeName) {
+        return attributes.getOrDefault(entityName + "." + attributeName, defaultMode);
+    }
+
+    public boolean usesFullText() {
+        return defaultMode == TextSearchMode.FULL_TEXT || attributes.containsValue(TextSearchMode.FULL_TEXT);
+    }
+}
@@ -0,0 +1,37 @@
+package com.groupName.artefactName.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Subidas en crudo (/api/uploads), pendientes hasta que las consume una carga masiva.
+ *
+ * Ejemplo en application.properties:
+ * upload.directory=/var/lib/artefactName/uploads
+ * upload.retention=1h
+ * upload.max-total-size=10GB
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "upload")
+public class UploadProperties {
+
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "artefactName-uploads");
+
+    /**
+     * Vida de una subida no consumida; pasado ese tiempo se borra.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Espacio total del directorio. Es aproximado: las subidas simultáneas ven el mismo hueco libre.
+     */
+    private DataSize maxTotalSize = DataSize.ofGigabytes(10);
+}
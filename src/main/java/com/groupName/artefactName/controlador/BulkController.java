@@ -0,0 +1,45 @@
+package com.groupName.artefactName.controlador;
+
+import com.groupName.artefactName.config.BulkProperties;
+import com.groupName.artefactName.dto.BulkResponse;
+import com.groupName.artefactName.utiles.BulkWriter;
+import com.groupName.artefactName.utiles.FilterQueryExecutor;
+import com.groupName.artefactName.utiles.UploadStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class BulkController {
+
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final BulkWriter bulkWriter;
+    private final BulkProperties bulkProperties;
+    private final UploadStore uploadStore;
+
+    // Cuerpo: array JSON o un objeto por línea (NDJSON). Elementos con id actualizan los campos presentes, sin id se crean.
+    @PostMapping(value = "/api/bulk/{entidad}", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResponse> bulk(@PathVariable String entidad, HttpServletRequest request) throws IOException {
+        Class<?> entityClass = filterQueryExecutor.resolveEntityClass(entidad);
+        return ResponseEntity.ok(bulkWriter.write(entityClass, bulkProperties.fields(entidad), request.getInputStream()));
+    }
+
+    // Mismo formato, leído de una subida previa (POST /api/uploads); la subida se consume y se borra
+    @PostMapping("/api/bulk/{entidad}/uploads/{upload}")
+    public ResponseEntity<BulkResponse> bulkFromUpload(@PathVariable String entidad, @PathVariable String upload) throws IOException {
+        Class<?> entityClass = filterQueryExecutor.resolveEntityClass(entidad);
+        List<String> campos = bulkProperties.fields(entidad);
+        try (InputStream cuerpo = uploadStore.consume(upload)) {
+            return ResponseEntity.ok(bulkWriter.write(entityClass, campos, cuerpo));
+        }
+    }
+}
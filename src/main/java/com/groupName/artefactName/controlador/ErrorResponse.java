@@ -1,24 +1,39 @@
 package com.groupName.artefactName.controlador;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.groupName.artefactName.utiles.TraceContext;
+import org.springframework.http.HttpStatus;
+
 import java.time.LocalDateTime;
 
 public class ErrorResponse {
-    private LocalDateTime timestamp;
-    private int status;
-    private String error;
-    private String message;
-    private String path; // O detalles específicos del error
-
-    // Constructor, Getters, Setters
+    private final LocalDateTime timestamp;
+    private final int status;
+    private final String error;
+    private final String message;
+    private final String path; // O detalles específicos del error
+    private final String traceId; // Para buscar en los logs las líneas de esta petición
+
+    // Constructor, Getters
     public ErrorResponse(LocalDateTime timestamp, int status, String error, String message, String path) {
+        this(timestamp, status, error, message, path, TraceContext.current());
+    }
+
+    public ErrorResponse(LocalDateTime timestamp, int status, String error, String message, String path, String traceId) {
         this.timestamp = timestamp;
         this.status = status;
         this.error = error;
         this.message = message;
         this.path = path;
+        this.traceId = traceId;
     }
 
-    // Getters y Setters
+    // Ruta rápida para los handlers: el texto de estado es la constante de HttpStatus, sin copias
+    public static ErrorResponse of(HttpStatus status, String message, String path) {
+        return new ErrorResponse(LocalDateTime.now(), status.value(), status.getReasonPhrase(), message, path);
+    }
+
+    // Getters
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
@@ -38,4 +53,9 @@ public class ErrorResponse {
     public String getPath() {
         return path;
     }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getTraceId() {
+        return traceId;
+    }
 }
@@ -0,0 +1,49 @@
+package com.groupName.artefactName.controlador;
+
+import com.groupName.artefactName.config.ExportProperties;
+import com.groupName.artefactName.utiles.ExportFormat;
+import com.groupName.artefactName.utiles.FilterExportWriter;
+import com.groupName.artefactName.utiles.FilterParameters;
+import com.groupName.artefactName.utiles.FilterQueryExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final FilterExportWriter filterExportWriter;
+    private final ExportProperties exportProperties;
+
+    // Ejemplo: GET /api/export/user?format=csv&denomination=ana&sort=id,desc&fields=id,correo
+    @GetMapping("/api/export/{entidad}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String entidad,
+                                                        @RequestParam(name = FilterParameters.FORMAT, defaultValue = "ndjson") String formato,
+                                                        @RequestParam(name = FilterParameters.FIELDS, required = false) String fields,
+                                                        @RequestParam Map<String, String> parametros,
+                                                        Sort sort) {
+        Class<?> entityClass = filterQueryExecutor.resolveEntityClass(entidad);
+        ExportFormat exportFormat = ExportFormat.from(formato);
+        Map<String, String> filtros = FilterParameters.filtros(parametros);
+        List<String> campos = exportProperties.columns(entidad, FilterParameters.campos(fields), filtros, sort);
+        filterQueryExecutor.validateFields(entityClass, campos);
+
+        StreamingResponseBody body = out -> filterExportWriter.export(entityClass, filtros, sort, campos, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + entidad + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
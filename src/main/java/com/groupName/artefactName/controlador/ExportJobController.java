@@ -0,0 +1,86 @@
+package com.groupName.artefactName.controlador;
+
+import com.groupName.artefactName.dto.ExportJobResponse;
+import com.groupName.artefactName.exceptions.ConflictException;
+import com.groupName.artefactName.utiles.ExportFormat;
+import com.groupName.artefactName.utiles.ExportJobService;
+import com.groupName.artefactName.utiles.ExportJobStatus;
+import com.groupName.artefactName.utiles.ExportJobStore.ExportJob;
+import com.groupName.artefactName.utiles.FilterParameters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "export-jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class ExportJobController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportJobService exportJobService;
+
+    // Ejemplo: POST /api/export-jobs/user?format=csv&denomination=ana&fields=id,correo
+    // Mismos parámetros que /api/export/{entidad}, salvo sort: los bloques se recorren siempre por id
+    @PostMapping("/api/export-jobs/{entidad}")
+    public ResponseEntity<ExportJobResponse> submit(@PathVariable String entidad,
+                                                    @RequestParam(name = FilterParameters.FORMAT, defaultValue = "ndjson") String formato,
+                                                    @RequestParam(name = FilterParameters.FIELDS, required = false) String fields,
+                                                    @RequestParam Map<String, String> parametros,
+                                                    Principal usuario) {
+        ExportJob job = exportJobService.submit(owner(usuario), entidad, FilterParameters.filtros(parametros),
+                FilterParameters.campos(fields), ExportFormat.from(formato));
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/export-jobs/{id}").buildAndExpand(job.id()).toUri())
+                .body(toResponse(job));
+    }
+
+    @GetMapping("/api/export-jobs/{id}")
+    public ExportJobResponse status(@PathVariable String id, Principal usuario) {
+        return toResponse(exportJobService.find(id, owner(usuario)));
+    }
+
+    @GetMapping("/api/export-jobs/{id}/download")
+    public ResponseEntity<FileSystemResource> download(@PathVariable String id, Principal usuario) {
+        ExportJob job = exportJobService.find(id, owner(usuario));
+        if (job.status() != ExportJobStatus.COMPLETED) {
+            throw new ConflictException("Export job is " + job.status() + ".");
+        }
+        return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.entity() + "." + job.format().getExtension() + ".gz\"")
+                .body(new FileSystemResource(exportJobService.file(id)));
+    }
+
+    private static String owner(Principal usuario) {
+        return usuario == null ? "" : usuario.getName();
+    }
+
+    private static ExportJobResponse toResponse(ExportJob job) {
+        return ExportJobResponse.builder()
+                .id(job.id())
+                .entity(job.entity())
+                .format(job.format().name())
+                .status(job.status().name())
+                .rowsWritten(job.rowsWritten())
+                .totalRows(job.totalRows())
+                .bytesWritten(job.bytesWritten())
+                .error(job.error())
+                .createdAt(Instant.ofEpochMilli(job.createdAt()))
+                .updatedAt(Instant.ofEpochMilli(job.updatedAt()))
+                .build();
+    }
+}
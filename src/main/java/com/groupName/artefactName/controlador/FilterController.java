@@ -0,0 +1,62 @@
+package com.groupName.artefactName.controlador;
+
+import com.groupName.artefactName.dto.PageResponse;
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import com.groupName.artefactName.utiles.FetchPlanner;
+import com.groupName.artefactName.utiles.FilterAllowList;
+import com.groupName.artefactName.utiles.FilterPager;
+import com.groupName.artefactName.utiles.FilterParameters;
+import com.groupName.artefactName.utiles.FilterQueryExecutor;
+import com.groupName.artefactName.utiles.PagingMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class FilterController {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final FilterPager filterPager;
+    private final FilterAllowList filterAllowList;
+    private final FetchPlanner fetchPlanner;
+
+    // Ejemplo: GET /api/filter/user?denomination=ana&page=0&size=20&paging=has_next&sort=id,desc&fields=id,denomination
+    //          GET /api/filter/user?expand=roles,company&paging=has_next
+    @GetMapping("/api/filter/{entidad}")
+    public ResponseEntity<PageResponse<?>> filter(@PathVariable String entidad,
+                                                  @RequestParam(name = FilterParameters.PAGE, defaultValue = "0") int page,
+                                                  @RequestParam(name = FilterParameters.SIZE, defaultValue = "20") int size,
+                                                  @RequestParam(name = FilterParameters.PAGING, defaultValue = "exact") String paging,
+                                                  @RequestParam(name = FilterParameters.FIELDS, required = false) String fields,
+                                                  @RequestParam(name = FilterParameters.EXPAND, required = false) String expand,
+                                                  @RequestParam(name = FilterParameters.GRAPH, required = false) String graph,
+                                                  @RequestParam Map<String, String> parametros,
+                                                  Sort sort) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessLogicException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Class<?> entityClass = filterQueryExecutor.resolveEntityClass(entidad);
+        Map<String, String> filtros = FilterParameters.filtros(parametros);
+        // Un grafo con nombre se comprueba como las rutas de expand equivalentes
+        List<String> rutas = graph != null && !graph.isBlank()
+                ? fetchPlanner.graphPaths(entityClass, graph)
+                : FilterParameters.campos(expand);
+        List<String> columnas = filterAllowList.columns(entityClass, FilterParameters.campos(fields), filtros, sort, rutas);
+        PagingMode modo = PagingMode.from(paging);
+        if (rutas.isEmpty()) {
+            return ResponseEntity.ok(filterPager.findPage(entityClass, filtros, sort, columnas, page, size, modo));
+        }
+        PageResponse<?> entidades = filterPager.findPage(entityClass, filtros, sort, null, rutas, page, size, modo);
+        return ResponseEntity.ok(filterAllowList.view(entidades, columnas, rutas));
+    }
+}
@@ -1,136 +1,154 @@
 package com.groupName.artefactName.controlador;
 
 import com.groupName.artefactName.exceptions.BusinessLogicException;
+import com.groupName.artefactName.exceptions.ConflictException;
+import com.groupName.artefactName.exceptions.DeadlineExceededException;
+import com.groupName.artefactName.exceptions.PayloadTooLargeException;
+import com.groupName.artefactName.exceptions.PreconditionFailedException;
+import com.groupName.artefactName.exceptions.ServiceOverloadedException;
+import com.groupName.artefactName.logging.StackTraceSampler;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.config.ConfigDataResourceNotFoundException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.List;
 
+/**
+ * Los errores del cliente (4xx) se registran en una línea, sin traza: una ráfaga de peticiones
+ * inválidas no debe costar mucho más que una ráfaga de peticiones válidas. Las trazas de los 5xx
+ * pasan por {@link StackTraceSampler}: la primera de cada huella completa y después un resumen
+ * periódico con el número de repeticiones.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private StackTraceSampler stackTraceSampler = new StackTraceSampler(Duration.ofMinutes(1));
+
+    @Value("${error-log.stack-trace-interval:1m}")
+    void setStackTraceInterval(Duration interval) {
+        this.stackTraceSampler = new StackTraceSampler(interval);
+    }
+
     // 1. Manejo de Excepciones Específicas de la Aplicación
     @ExceptionHandler(ConfigDataResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ConfigDataResourceNotFoundException ex, WebRequest request) {
-        log.error(ex.getMessage(),ex);
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                HttpStatus.NOT_FOUND.getReasonPhrase(),
-                ex.getMessage(),
-                request.getDescription(false)
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return clientError(HttpStatus.NOT_FOUND, ex, ex.getMessage(), request.getDescription(false));
     }
 
     @ExceptionHandler(BusinessLogicException.class)
     public ResponseEntity<ErrorResponse> handleBusinessLogicException(BusinessLogicException ex, WebRequest request) {
-        log.error(ex.getMessage(),ex);
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                HttpStatus.BAD_REQUEST.getReasonPhrase(),
-                ex.getMessage(),
-                request.getDescription(false)
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return clientError(HttpStatus.BAD_REQUEST, ex, ex.getMessage(), request.getDescription(false));
     }
 
     // 2. Manejo de Excepciones de Validación (@Valid)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
-        List<String> errors = ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage())
-                .toList();
-
-        log.error(errors.toString(),ex);
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                HttpStatus.BAD_REQUEST.getReasonPhrase(),
-                "Validation failed for arguments.",
-                errors.toString() // O podrías tener un campo específico para la lista de errores
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        // Mismo formato que List.toString(), sin la lista ni el stream intermedios
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        StringBuilder errors = new StringBuilder(32 * fieldErrors.size() + 2).append('[');
+        for (int i = 0; i < fieldErrors.size(); i++) {
+            if (i > 0) {
+                errors.append(", ");
+            }
+            errors.append(fieldErrors.get(i).getField()).append(": ").append(fieldErrors.get(i).getDefaultMessage());
+        }
+        // O podrías tener un campo específico para la lista de errores
+        return clientError(HttpStatus.BAD_REQUEST, ex, "Validation failed for arguments.", errors.append(']').toString());
     }
 
     // 3. Manejo de Otras Excepciones Comunes de Spring
     @ExceptionHandler(org.springframework.dao.DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(org.springframework.dao.DataIntegrityViolationException ex, WebRequest request) {
-        log.error(ex.getMessage(),ex);
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.CONFLICT.value(),
-                HttpStatus.CONFLICT.getReasonPhrase(),
-                "Data integrity violation.",
-                ex.getMessage() // Considera si quieres exponer el mensaje detallado
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        // Considera si quieres exponer el mensaje detallado
+        return clientError(HttpStatus.CONFLICT, ex, "Data integrity violation.", ex.getMessage());
     }
 
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleHttpRequestMethodNotSupportedException(HttpRequestMethodNotSupportedException ex, WebRequest request) {
-        log.error(ex.getMessage(),ex);
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.CONFLICT.value(),
-                HttpStatus.CONFLICT.getReasonPhrase(),
-                "Method not supported.",
-                ex.getMessage() // Considera si quieres exponer el mensaje detallado
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
-    }
-
-     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
-     public ResponseEntity<ErrorResponse> handleMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException ex, WebRequest request) {
-         log.error(ex.getMessage(),ex);
-         ErrorResponse errorResponse = new ErrorResponse(
-                 LocalDateTime.now(),
-                 HttpStatus.CONFLICT.value(),
-                 HttpStatus.CONFLICT.getReasonPhrase(),
-                 "Media type not supported.",
-                 ex.getMessage() // Considera si quieres exponer el mensaje detallado
-         );
-         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
-     }
+        return clientError(HttpStatus.CONFLICT, ex, "Method not supported.", ex.getMessage());
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException ex, WebRequest request) {
+        return clientError(HttpStatus.CONFLICT, ex, "Media type not supported.", ex.getMessage());
+    }
+
+    @ExceptionHandler({PayloadTooLargeException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<ErrorResponse> handlePayloadTooLargeException(RuntimeException ex, WebRequest request) {
+        return clientError(HttpStatus.PAYLOAD_TOO_LARGE, ex, ex.getMessage(), request.getDescription(false));
+    }
+
+    // If-Match que no coincide o modificación concurrente detectada por @Version al escribir
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(RuntimeException ex, WebRequest request) {
+        return clientError(HttpStatus.PRECONDITION_FAILED, ex, "Resource was modified by another request.", request.getDescription(false));
+    }
+
+    // Recurso en un estado que no admite la operación (p. ej. descargar una exportación sin terminar)
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex, WebRequest request) {
+        return clientError(HttpStatus.CONFLICT, ex, ex.getMessage(), request.getDescription(false));
+    }
+
+    // Cola de trabajo llena: el cliente puede reintentar más tarde
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex, WebRequest request) {
+        log.warn("Service overloaded: {}", ex.getMessage());
+        return respond(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getDescription(false));
+    }
+
+    // 4. Plazo de la petición agotado (RequestDeadline o query timeout JDBC)
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(RuntimeException ex, WebRequest request) {
+        log.warn("Request deadline exceeded: {}", ex.getMessage());
+        return respond(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded.", request.getDescription(false));
+    }
 
     // Genericos
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleGenericException(EntityNotFoundException ex, WebRequest request) {
-        log.error(ex.getMessage(),ex);
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                HttpStatus.NOT_FOUND.getReasonPhrase(),
-                "Entity not found.",
-                request.getDescription(false)
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return clientError(HttpStatus.NOT_FOUND, ex, "Entity not found.", request.getDescription(false));
     }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
-        log.error(ex.getMessage(),ex);
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
-                "An unexpected error occurred.",
-                request.getDescription(false)
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        logServerError(ex);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.", request.getDescription(false));
+    }
+
+    private ResponseEntity<ErrorResponse> clientError(HttpStatus status, Exception ex, String message, String path) {
+        if (log.isInfoEnabled()) {
+            log.info("{} {}: {}", status.value(), ex.getClass().getSimpleName(), ex.getMessage());
+        }
+        return respond(status, message, path);
+    }
+
+    private void logServerError(Exception ex) {
+        StackTraceSampler.Sample sample = stackTraceSampler.sample(ex);
+        switch (sample.decision()) {
+            case FULL -> log.error("[{}] {}", Long.toHexString(sample.fingerprint()), ex.getMessage(), ex);
+            case SUMMARY -> log.error("[{}] {} (repeated {} times since last report, stack trace omitted)",
+                    Long.toHexString(sample.fingerprint()), ex.getMessage(), sample.repeticiones());
+            case SUPPRESSED -> log.debug("[{}] {}", Long.toHexString(sample.fingerprint()), ex.getMessage());
+        }
+    }
+
+    private static ResponseEntity<ErrorResponse> respond(HttpStatus status, String message, String path) {
+        return new ResponseEntity<>(ErrorResponse.of(status, message, path), status);
     }
 }
@@ -0,0 +1,26 @@
+package com.groupName.artefactName.controlador;
+
+import com.groupName.artefactName.dto.UploadResponse;
+import com.groupName.artefactName.utiles.UploadStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+
+    private final UploadStore uploadStore;
+
+    // Cuerpo binario en crudo (sin multipart): se vuelca a disco según llega, límite en request-limits
+    @PostMapping(value = "/api/uploads", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadResponse> upload(HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadStore.store(request.getInputStream()));
+    }
+}
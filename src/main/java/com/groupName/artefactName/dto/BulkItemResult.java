@@ -0,0 +1,41 @@
+package com.groupName.artefactName.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public enum Status { CREATED, UPDATED, INVALID, FAILED }
+
+    private int index;
+    private Status status;
+    private Object id;
+    private List<String> errors;
+
+    public static BulkItemResult created(int index, Object id) {
+        return new BulkItemResult(index, Status.CREATED, id, List.of());
+    }
+
+    public static BulkItemResult updated(int index, Object id) {
+        return new BulkItemResult(index, Status.UPDATED, id, List.of());
+    }
+
+    public static BulkItemResult invalid(int index, List<String> errors) {
+        return new BulkItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, Status.FAILED, null, List.of(error));
+    }
+}
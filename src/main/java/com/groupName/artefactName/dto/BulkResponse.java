@@ -0,0 +1,38 @@
+package com.groupName.artefactName.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResponse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private int created;
+    private int updated;
+    private int invalid;
+    private int failed;
+    private List<BulkItemResult> items;
+
+    public static BulkResponse of(List<BulkItemResult> items) {
+        int[] counts = new int[BulkItemResult.Status.values().length];
+        items.forEach(item -> counts[item.getStatus().ordinal()]++);
+        return BulkResponse.builder()
+                .created(counts[BulkItemResult.Status.CREATED.ordinal()])
+                .updated(counts[BulkItemResult.Status.UPDATED.ordinal()])
+                .invalid(counts[BulkItemResult.Status.INVALID.ordinal()])
+                .failed(counts[BulkItemResult.Status.FAILED.ordinal()])
+                .items(items)
+                .build();
+    }
+}
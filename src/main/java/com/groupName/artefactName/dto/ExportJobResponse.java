@@ -0,0 +1,28 @@
+package com.groupName.artefactName.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobResponse {
+
+    private String id;
+    private String entity;
+    private String format;
+    private String status;
+    private long rowsWritten;
+    private Long totalRows;
+    private long bytesWritten;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.groupName.artefactName.dto;
+
+import com.groupName.artefactName.utiles.PagingMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Long total; // null en modo HAS_NEXT
+    private PagingMode totalMode;
+}
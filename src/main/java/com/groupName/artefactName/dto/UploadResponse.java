@@ -0,0 +1,16 @@
+package com.groupName.artefactName.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadResponse {
+
+    private String id;
+    private long size;
+}
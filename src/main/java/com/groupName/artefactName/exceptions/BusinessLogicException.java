@@ -1,7 +1,11 @@
 package com.groupName.artefactName.exceptions;
 
+/**
+ * Error de validación o de negocio que se traduce en un 400. No captura la pila: siempre se crea
+ * en respuesta a una petición inválida, la traza no aporta nada y rellenarla es lo más caro de lanzarla.
+ */
 public class BusinessLogicException extends RuntimeException {
     public BusinessLogicException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
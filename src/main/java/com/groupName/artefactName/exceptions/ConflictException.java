@@ -0,0 +1,7 @@
+package com.groupName.artefactName.exceptions;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
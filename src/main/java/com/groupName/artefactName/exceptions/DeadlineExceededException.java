@@ -0,0 +1,7 @@
+package com.groupName.artefactName.exceptions;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.groupName.artefactName.exceptions;
+
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message, null, false, false);
+    }
+}
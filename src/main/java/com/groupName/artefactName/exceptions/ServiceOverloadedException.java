@@ -0,0 +1,7 @@
+package com.groupName.artefactName.exceptions;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message, null, false, false);
+    }
+}
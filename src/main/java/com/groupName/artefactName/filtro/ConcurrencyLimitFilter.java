@@ -0,0 +1,171 @@
+package com.groupName.artefactName.filtro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupName.artefactName.config.ConcurrencyLimitProperties;
+import com.groupName.artefactName.controlador.ErrorResponse;
+import com.groupName.artefactName.utiles.AdaptiveLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admisión de peticiones delante de toda la cadena (incluida la de seguridad).
+ *
+ * Cada ruta pertenece a un grupo con su cuota del límite adaptativo y, opcionalmente, un tope
+ * fijo propio. Lo que no cabe se rechaza al momento con 503 y Retry-After, en lugar de esperar en
+ * la cola de Tomcat hasta agotar el timeout del cliente.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String DEFAULT_GROUP = "default";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveLimiter limiter;
+    private final List<GroupRoute> routes = new ArrayList<>();
+    private final Map<String, Semaphore> groupCaps = new HashMap<>();
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.limiter = new AdaptiveLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getTolerance());
+
+        properties.getGroups().forEach((nombre, grupo) -> {
+            grupo.getPatterns().forEach(patron -> routes.add(new GroupRoute(patron, nombre, grupo.getShare())));
+            if (grupo.getMaxConcurrency() >= 0) {
+                groupCaps.put(nombre, new Semaphore(grupo.getMaxConcurrency()));
+            }
+        });
+        List<String> nombres = new ArrayList<>(properties.getGroups().keySet());
+        nombres.add(DEFAULT_GROUP);
+        nombres.forEach(nombre -> rejected.put(nombre, Counter.builder("http.server.requests.rejected")
+                .tag("group", nombre)
+                .register(meterRegistry)));
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveLimiter::limit).register(meterRegistry);
+        Gauge.builder("http.server.concurrency.inflight", limiter, AdaptiveLimiter::inFlight).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        GroupRoute grupo = group(request);
+        Semaphore tope = groupCaps.get(grupo.name());
+        if (tope != null && !tope.tryAcquire()) {
+            reject(grupo, request, response);
+            return;
+        }
+        if (!limiter.tryAcquire(grupo.share())) {
+            if (tope != null) {
+                tope.release();
+            }
+            reject(grupo, request, response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean asincrona = false;
+        try {
+            filterChain.doFilter(request, response);
+            asincrona = request.isAsyncStarted();
+        } catch (IOException | ServletException | RuntimeException ex) {
+            limiter.release();
+            if (tope != null) {
+                tope.release();
+            }
+            throw ex;
+        }
+
+        if (asincrona) {
+            // Las respuestas en streaming duran lo que dure la descarga: ocupan permiso, pero su
+            // duración no es una muestra válida de latencia
+            request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, tope));
+            return;
+        }
+        int status = response.getStatus();
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            limiter.onOverload();
+        } else {
+            limiter.onSuccess(System.nanoTime() - inicio);
+        }
+        if (tope != null) {
+            tope.release();
+        }
+    }
+
+    AdaptiveLimiter limiter() {
+        return limiter;
+    }
+
+    private GroupRoute group(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        Comparator<String> especificidad = pathMatcher.getPatternComparator(ruta);
+        return routes.stream()
+                .filter(route -> pathMatcher.match(route.pattern(), ruta))
+                .min((a, b) -> especificidad.compare(a.pattern(), b.pattern()))
+                .orElseGet(() -> new GroupRoute(ruta, DEFAULT_GROUP, properties.getDefaultShare()));
+    }
+
+    private void reject(GroupRoute grupo, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rejected.get(grupo.name()).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE,
+                "Server overloaded, retry later.", request.getRequestURI()));
+    }
+
+    private record GroupRoute(String pattern, String name, double share) {
+    }
+
+    private record ReleaseOnComplete(AdaptiveLimiter limiter, Semaphore tope) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release();
+            if (tope != null) {
+                tope.release();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
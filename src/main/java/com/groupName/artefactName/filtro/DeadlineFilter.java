@@ -0,0 +1,96 @@
+package com.groupName.artefactName.filtro;
+
+import com.groupName.artefactName.config.DeadlineProperties;
+import com.groupName.artefactName.utiles.RequestDeadline;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+
+/**
+ * Abre el {@link RequestDeadline} de cada petición: cabecera del cliente (acotada por
+ * deadline.max-timeout), plazo del endpoint o deadline.default-timeout, en ese orden.
+ *
+ * En las respuestas asíncronas (exportaciones en streaming) un error de E/S del contenedor indica
+ * que el cliente se ha ido y se cancelan las sentencias en curso. En las peticiones síncronas la
+ * desconexión no es observable hasta escribir la respuesta, así que las acota el propio plazo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final DeadlineProperties deadlineProperties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestDeadline deadline = RequestDeadline.start(timeout(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CancelOnDisconnect(deadline));
+            }
+            RequestDeadline.clear();
+        }
+    }
+
+    Duration timeout(HttpServletRequest request) {
+        String cabecera = request.getHeader(deadlineProperties.getHeader());
+        if (cabecera != null && !cabecera.isBlank()) {
+            try {
+                Duration solicitado = DurationStyle.detectAndParse(cabecera.trim());
+                if (!solicitado.isNegative() && !solicitado.isZero()) {
+                    return solicitado.compareTo(deadlineProperties.getMaxTimeout()) > 0
+                            ? deadlineProperties.getMaxTimeout()
+                            : solicitado;
+                }
+            } catch (IllegalArgumentException ex) {
+                log.debug("Ignoring invalid {} header: {}", deadlineProperties.getHeader(), cabecera);
+            }
+        }
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        return deadlineProperties.getEndpoints().keySet().stream()
+                .filter(patron -> pathMatcher.match(patron, ruta))
+                .min(pathMatcher.getPatternComparator(ruta))
+                .map(deadlineProperties.getEndpoints()::get)
+                .orElse(deadlineProperties.getDefaultTimeout());
+    }
+
+    private record CancelOnDisconnect(RequestDeadline deadline) implements AsyncListener {
+
+        @Override
+        public void onError(AsyncEvent event) {
+            deadline.cancel();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            deadline.cancel();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
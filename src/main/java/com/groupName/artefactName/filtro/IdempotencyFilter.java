@@ -0,0 +1,236 @@
+package com.groupName.artefactName.filtro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupName.artefactName.config.IdempotencyProperties;
+import com.groupName.artefactName.controlador.ErrorResponse;
+import com.groupName.artefactName.exceptions.PayloadTooLargeException;
+import com.groupName.artefactName.utiles.IdempotencyStore;
+import com.groupName.artefactName.utiles.IdempotencyStore.Reservation;
+import com.groupName.artefactName.utiles.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Honra la cabecera Idempotency-Key en POST, PUT y PATCH.
+ *
+ * La primera petición con una clave se ejecuta y su respuesta (estado, tipo y cuerpo) se guarda;
+ * los duplicados que llegan mientras tanto esperan ese resultado y los posteriores lo reciben
+ * reenviado sin volver a ejecutar nada. Las respuestas 5xx, los errores y las respuestas
+ * asíncronas no se guardan: liberan la clave para que el reintento se ejecute de nuevo.
+ *
+ * La clave se asocia al usuario autenticado (va detrás de la cadena de seguridad) y a la ruta, el
+ * método y un resumen SHA-256 del cuerpo: reutilizarla con otra petición es un error del cliente
+ * (422). Para calcular el resumen el cuerpo se lee entero antes de ejecutar, acotado por
+ * request-limits. Las peticiones anónimas y las rutas de idempotency.excluded-paths (login, cuerpos
+ * en streaming) pasan sin clave.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Sin usuario la clave no tendría dueño: cualquiera recibiría la respuesta guardada (p. ej. un token)
+        return !METHODS.contains(request.getMethod()) || request.getHeader(properties.getHeader()) == null
+                || request.getUserPrincipal() == null || excluded(request);
+    }
+
+    private boolean excluded(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getExcludedPaths().stream().anyMatch(patron -> pathMatcher.match(patron, ruta));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String clave = request.getHeader(properties.getHeader());
+        if (clave.isBlank() || clave.length() > MAX_KEY_LENGTH) {
+            error(request, response, HttpStatus.BAD_REQUEST, properties.getHeader() + " must have 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        byte[] cuerpo;
+        try {
+            cuerpo = StreamUtils.copyToByteArray(request.getInputStream());
+        } catch (PayloadTooLargeException ex) {
+            error(request, response, HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage());
+            return;
+        }
+        HttpServletRequest peticion = new BufferedBodyRequest(request, cuerpo);
+        String key = request.getUserPrincipal().getName() + ":" + clave;
+        String fingerprint = request.getMethod() + " " + request.getRequestURI() + " " + sha256(cuerpo);
+
+        long limite = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            Reservation reserva = store.reserve(key, fingerprint);
+            if (reserva.state() == Reservation.State.ACQUIRED) {
+                execute(key, peticion, response, filterChain);
+                return;
+            }
+            if (!fingerprint.equals(reserva.fingerprint())) {
+                error(request, response, HttpStatus.UNPROCESSABLE_ENTITY, properties.getHeader() + " was already used for another request.");
+                return;
+            }
+            if (reserva.state() == Reservation.State.COMPLETED) {
+                replay(reserva.response(), response);
+                return;
+            }
+            long restante = limite - System.nanoTime();
+            StoredResponse resultado;
+            try {
+                resultado = restante > 0 ? store.await(key, Duration.ofNanos(restante)).orElse(null) : null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for idempotent request", ex);
+            }
+            if (resultado != null) {
+                replay(resultado, response);
+                return;
+            }
+            if (System.nanoTime() - limite >= 0) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                error(request, response, HttpStatus.CONFLICT, "A request with this " + properties.getHeader() + " is still in progress.");
+                return;
+            }
+            // La ejecución en curso falló y liberó la clave: se intenta reservarla de nuevo
+        }
+    }
+
+    private void execute(String key, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        boolean guardada = false;
+        try {
+            filterChain.doFilter(request, respuesta);
+            byte[] cuerpo = respuesta.getContentAsByteArray();
+            if (!request.isAsyncStarted() && respuesta.getStatus() < 500
+                    && cuerpo.length <= properties.getMaxResponseSize().toBytes()) {
+                store.complete(key, new StoredResponse(respuesta.getStatus(), respuesta.getContentType(), cuerpo));
+                guardada = true;
+            }
+        } finally {
+            if (!guardada) {
+                store.release(key);
+            }
+            if (!request.isAsyncStarted()) {
+                respuesta.copyBodyToResponse();
+            }
+        }
+    }
+
+    private static String sha256(byte[] cuerpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(cuerpo));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void replay(StoredResponse guardada, HttpServletResponse response) throws IOException {
+        response.setStatus(guardada.status());
+        if (guardada.contentType() != null) {
+            response.setContentType(guardada.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(guardada.body().length);
+        response.getOutputStream().write(guardada.body());
+    }
+
+    private void error(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String mensaje) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(status, mensaje, request.getRequestURI()));
+    }
+
+    // Cuerpo ya leído para calcular la huella, servido de nuevo a la cadena
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream origen = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return origen.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return origen.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return origen.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Non-blocking read of a buffered body");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return cuerpo.length;
+        }
+    }
+}
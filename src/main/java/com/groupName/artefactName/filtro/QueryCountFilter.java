@@ -0,0 +1,48 @@
+package com.groupName.artefactName.filtro;
+
+import com.groupName.artefactName.utiles.QueryCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Detector de N+1 para desarrollo y tests: cuenta las sentencias SQL de cada petición y avisa
+ * (o falla, con query-count.fail=true) cuando superan query-count.threshold.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "query-count.enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    @Value("${query-count.threshold:20}")
+    private int threshold;
+
+    @Value("${query-count.fail:false}")
+    private boolean fail;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.start();
+        int count;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count = QueryCounter.stop();
+        }
+        if (count > threshold) {
+            String message = request.getMethod() + " " + request.getRequestURI() + " executed " + count + " SQL statements (threshold " + threshold + ")";
+            if (fail) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.groupName.artefactName.filtro;
+
+import com.groupName.artefactName.utiles.TraceContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primer filtro de la cadena: fija el identificador de traza en el MDC y en la cabecera de
+ * respuesta, y lleva la cuenta de peticiones en curso.
+ *
+ * La latencia por ruta (histogramas y percentiles) y las tasas de error las registra la
+ * observación http.server.requests de Spring Boot, etiquetada con la plantilla de la ruta, el
+ * estado y el outcome; se configura en application.properties (management.metrics.*).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestInstrumentationFilter extends OncePerRequestFilter {
+
+    static final String INFLIGHT_GAUGE = "http.server.requests.inflight";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RequestInstrumentationFilter(MeterRegistry meterRegistry) {
+        Gauge.builder(INFLIGHT_GAUGE, inFlight, AtomicInteger::get)
+                .description("Peticiones HTTP en curso")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String traceId = TraceContext.resolve(request.getHeader(TraceContext.HEADER), request.getHeader(TraceContext.TRACEPARENT));
+        MDC.put(TraceContext.MDC_KEY, traceId);
+        response.setHeader(TraceContext.HEADER, traceId);
+        inFlight.incrementAndGet();
+        boolean asincrona = false;
+        try {
+            filterChain.doFilter(request, response);
+            asincrona = request.isAsyncStarted();
+        } finally {
+            if (asincrona) {
+                request.getAsyncContext().addListener(new DecrementOnComplete(inFlight));
+            } else {
+                inFlight.decrementAndGet();
+            }
+            MDC.remove(TraceContext.MDC_KEY);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private record DecrementOnComplete(AtomicInteger inFlight) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
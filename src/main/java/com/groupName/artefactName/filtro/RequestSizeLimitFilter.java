@@ -0,0 +1,151 @@
+package com.groupName.artefactName.filtro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupName.artefactName.config.RequestLimitProperties;
+import com.groupName.artefactName.controlador.ErrorResponse;
+import com.groupName.artefactName.exceptions.PayloadTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Limita el cuerpo de cada petición según su endpoint (request-limits.*).
+ *
+ * Si la petición declara Content-Length se rechaza con 413 antes de leer nada. Si llega en
+ * chunks, el stream se envuelve y lanza {@link PayloadTooLargeException} en cuanto se supera el
+ * límite, de modo que ni un cuerpo sin longitud declarada acaba acumulado en memoria.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestSizeLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final RequestLimitProperties requestLimitProperties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long limite = limit(request).toBytes();
+        if (limite < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long declarado = request.getContentLengthLong();
+        if (declarado > limite) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            // Sin leer el cuerpo: Tomcat lo descarta hasta server.tomcat.max-swallow-size y después cierra la conexión
+            objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Request body exceeds " + limite + " bytes.", request.getRequestURI()));
+            return;
+        }
+        filterChain.doFilter(declarado >= 0 ? request : new LimitedRequest(request, limite), response);
+    }
+
+    DataSize limit(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        return requestLimitProperties.getEndpoints().keySet().stream()
+                .filter(patron -> pathMatcher.match(patron, ruta))
+                .min(pathMatcher.getPatternComparator(ruta))
+                .map(requestLimitProperties.getEndpoints()::get)
+                .orElse(requestLimitProperties.getDefaultMaxBody());
+    }
+
+    private static final class LimitedRequest extends HttpServletRequestWrapper {
+
+        private final long limite;
+        private ServletInputStream inputStream;
+
+        private LimitedRequest(HttpServletRequest request, long limite) {
+            super(request);
+            this.limite = limite;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new LimitedInputStream(super.getInputStream(), limite);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    static final class LimitedInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final long limite;
+        private long leidos;
+
+        LimitedInputStream(ServletInputStream delegate, long limite) {
+            this.delegate = delegate;
+            this.limite = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            leidos += n;
+            if (leidos > limite) {
+                throw new PayloadTooLargeException("Request body exceeds " + limite + " bytes.");
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
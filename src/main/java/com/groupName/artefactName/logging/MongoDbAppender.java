@@ -3,7 +3,7 @@ package com.groupName.artefactName.logging;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.StackTraceElementProxy;
-import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
@@ -32,14 +32,18 @@ import java.util.stream.Stream;
  * <appender name="MONGO" class="ch.qos.logback.classic.AsyncAppender">
  * <appender-ref ref="MONGO_SYNC" />
  * </appender>
+ *
+ * Extiende UnsynchronizedAppenderBase: el doAppend sincronizado de AppenderBase retendría un monitor
+ * durante la inserción en MongoDB, serializando los hilos que registran y fijando el hilo portador
+ * cuando se usan hilos virtuales. MongoCollection es thread-safe, así que no hace falta exclusión.
  */
-public class MongoDbAppender extends AppenderBase<ILoggingEvent> {
+public class MongoDbAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
 
     private String uri; // URI de conexión a MongoDB
     private String collectionName; // Nombre de la colección donde se guardarán los logs
     private String applicationName;
-    private MongoClient mongoClient; // transient para evitar serialización
-    private MongoCollection<Document> logsCollection; // transient para evitar serialización
+    private volatile MongoClient mongoClient; // volatile: start/stop y append pueden ejecutarse en hilos distintos
+    private volatile MongoCollection<Document> logsCollection;
 
     /**
      * Setter para la URI de conexión a MongoDB. Logback lo llamará desde la configuración XML.
@@ -130,48 +134,14 @@ public class MongoDbAppender extends AppenderBase<ILoggingEvent> {
     @Override
     protected void append(ILoggingEvent eventObject) {
         // Asegúrate de que el appender esté iniciado y la colección sea accesible
+        MongoCollection<Document> logsCollection = this.logsCollection;
         if (!isStarted() || logsCollection == null) {
             return;
         }
 
         try {
-            Document logDoc = new Document();
-            // Marca de tiempo del evento (en milisegundos desde la época Unix)
-            logDoc.append("timestamp", eventObject.getTimeStamp());
-            // Convierte a LocalDateTime para mayor legibilidad si se prefiere
-            logDoc.append("datetime", LocalDateTime.ofInstant(Instant.ofEpochMilli(eventObject.getTimeStamp()), ZoneOffset.UTC));
-            logDoc.append("level", eventObject.getLevel().toString());
-            logDoc.append("thread", eventObject.getThreadName());
-            logDoc.append("logger", eventObject.getLoggerName());
-            logDoc.append("message", eventObject.getFormattedMessage());
-            logDoc.append("application", applicationName); // Puedes externalizar esto si quieres
-
-            // Añadir información del Throwable si existe
-            IThrowableProxy throwableProxy = eventObject.getThrowableProxy();
-            if (throwableProxy != null) {
-                Document exceptionDoc = new Document();
-                exceptionDoc.append("class", throwableProxy.getClassName());
-                exceptionDoc.append("message", throwableProxy.getMessage());
-                // Obtener el stack trace completo
-                String stackTrace = Stream.of(throwableProxy.getStackTraceElementProxyArray())
-                        .map(StackTraceElementProxy::getSTEAsString)
-                        .collect(Collectors.joining("\n"));
-                exceptionDoc.append("stackTrace", stackTrace);
-
-                // Si hay una causa raíz (chained exception)
-                if (throwableProxy.getCause() != null) {
-                    exceptionDoc.append("cause", throwableProxy.getCause().getMessage());
-                }
-                logDoc.append("exception", exceptionDoc);
-            }
-
-            // Añadir datos del MDC (Mapped Diagnostic Context) si existen
-            if (eventObject.getMDCPropertyMap() != null && !eventObject.getMDCPropertyMap().isEmpty()) {
-                logDoc.append("mdc", new Document(eventObject.getMDCPropertyMap()));
-            }
-
             // Insertar el documento en la colección de MongoDB
-            logsCollection.insertOne(logDoc);
+            logsCollection.insertOne(toDocument(eventObject));
 
         } catch (Exception e) {
             // Este catch es crítico para evitar que los fallos de logging bloqueen la aplicación.
@@ -180,4 +150,46 @@ public class MongoDbAppender extends AppenderBase<ILoggingEvent> {
             addError("Failed to log event to MongoDB: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Convierte el evento de Logback en el documento que se guarda (separado de append para poder
+     * medirlo sin conexión a MongoDB).
+     */
+    Document toDocument(ILoggingEvent eventObject) {
+        Document logDoc = new Document();
+        // Marca de tiempo del evento (en milisegundos desde la época Unix)
+        logDoc.append("timestamp", eventObject.getTimeStamp());
+        // Convierte a LocalDateTime para mayor legibilidad si se prefiere
+        logDoc.append("datetime", LocalDateTime.ofInstant(Instant.ofEpochMilli(eventObject.getTimeStamp()), ZoneOffset.UTC));
+        logDoc.append("level", eventObject.getLevel().toString());
+        logDoc.append("thread", eventObject.getThreadName());
+        logDoc.append("logger", eventObject.getLoggerName());
+        logDoc.append("message", eventObject.getFormattedMessage());
+        logDoc.append("application", applicationName); // Puedes externalizar esto si quieres
+
+        // Añadir información del Throwable si existe
+        IThrowableProxy throwableProxy = eventObject.getThrowableProxy();
+        if (throwableProxy != null) {
+            Document exceptionDoc = new Document();
+            exceptionDoc.append("class", throwableProxy.getClassName());
+            exceptionDoc.append("message", throwableProxy.getMessage());
+            // Obtener el stack trace completo
+            String stackTrace = Stream.of(throwableProxy.getStackTraceElementProxyArray())
+                    .map(StackTraceElementProxy::getSTEAsString)
+                    .collect(Collectors.joining("\n"));
+            exceptionDoc.append("stackTrace", stackTrace);
+
+            // Si hay una causa raíz (chained exception)
+            if (throwableProxy.getCause() != null) {
+                exceptionDoc.append("cause", throwableProxy.getCause().getMessage());
+            }
+            logDoc.append("exception", exceptionDoc);
+        }
+
+        // Añadir datos del MDC (Mapped Diagnostic Context) si existen
+        if (eventObject.getMDCPropertyMap() != null && !eventObject.getMDCPropertyMap().isEmpty()) {
+            logDoc.append("mdc", new Document(eventObject.getMDCPropertyMap()));
+        }
+        return logDoc;
+    }
 }
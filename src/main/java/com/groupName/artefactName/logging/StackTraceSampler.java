@@ -0,0 +1,87 @@
+package com.groupName.artefactName.logging;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decide cuándo merece la pena registrar la traza completa de un error.
+ *
+ * Cada error se identifica por su huella: clase de la excepción y de su causa más los primeros
+ * frames de la pila. La primera aparición se registra entera; las repeticiones dentro del
+ * intervalo solo se cuentan, y al vencer el intervalo se emite un resumen con el número de
+ * repeticiones en lugar de otra traza.
+ */
+public class StackTraceSampler {
+
+    public enum Decision { FULL, SUMMARY, SUPPRESSED }
+
+    public record Sample(Decision decision, long fingerprint, long repeticiones) {
+    }
+
+    private static final int FINGERPRINT_FRAMES = 5;
+    // Evita que errores de huella muy variable hagan crecer el mapa sin límite
+    private static final int MAX_FINGERPRINTS = 1024;
+
+    private final long intervalNanos;
+    private final LongSupplier nanoTime;
+    private final Map<Long, Occurrences> occurrences = new ConcurrentHashMap<>();
+
+    public StackTraceSampler(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    StackTraceSampler(Duration interval, LongSupplier nanoTime) {
+        this.intervalNanos = interval.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public Sample sample(Throwable ex) {
+        long fingerprint = fingerprint(ex);
+        long ahora = nanoTime.getAsLong();
+        Occurrences previas = occurrences.get(fingerprint);
+        if (previas == null) {
+            if (occurrences.size() >= MAX_FINGERPRINTS) {
+                occurrences.clear();
+            }
+            previas = occurrences.putIfAbsent(fingerprint, new Occurrences(ahora));
+            if (previas == null) {
+                return new Sample(Decision.FULL, fingerprint, 0);
+            }
+        }
+        previas.suppressed.incrementAndGet();
+        long ultimo = previas.lastReport.get();
+        // Solo el hilo que gana el compareAndSet emite el resumen del intervalo
+        if (ahora - ultimo >= intervalNanos && previas.lastReport.compareAndSet(ultimo, ahora)) {
+            return new Sample(Decision.SUMMARY, fingerprint, previas.suppressed.getAndSet(0));
+        }
+        return new Sample(Decision.SUPPRESSED, fingerprint, 0);
+    }
+
+    static long fingerprint(Throwable ex) {
+        long hash = ex.getClass().getName().hashCode();
+        if (ex.getCause() != null) {
+            hash = 31 * hash + ex.getCause().getClass().getName().hashCode();
+        }
+        StackTraceElement[] frames = ex.getStackTrace();
+        for (int i = 0; i < Math.min(FINGERPRINT_FRAMES, frames.length); i++) {
+            StackTraceElement frame = frames[i];
+            hash = 31 * hash + frame.getClassName().hashCode();
+            hash = 31 * hash + frame.getMethodName().hashCode();
+            hash = 31 * hash + frame.getLineNumber();
+        }
+        return hash;
+    }
+
+    private static final class Occurrences {
+
+        private final AtomicLong suppressed = new AtomicLong();
+        private final AtomicLong lastReport;
+
+        private Occurrences(long lastReport) {
+            this.lastReport = new AtomicLong(lastReport);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.groupName.artefactName.utiles;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia adaptativo guiado por la latencia (algoritmo de gradiente).
+ *
+ * Compara la latencia reciente (media exponencial corta) con la de referencia (media larga):
+ * mientras son parecidas el límite crece poco a poco; cuando la reciente se dispara porque las
+ * peticiones empiezan a hacer cola, el gradiente baja de 1 y el límite se reduce en proporción.
+ * Las señales explícitas de sobrecarga (timeouts) lo recortan de forma multiplicativa (AIMD).
+ *
+ * Cada petición entra con una cuota del límite según su prioridad: con cuota 1.0 puede usar el
+ * límite completo y con 0.5 solo la mitad, así que al saturarse se rechazan primero las de menor
+ * prioridad y las críticas siguen entrando.
+ */
+public class AdaptiveLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    public boolean tryAcquire(double share) {
+        int permitidas = Math.max(1, (int) (limit * share));
+        while (true) {
+            int actuales = inFlight.get();
+            if (actuales >= permitidas) {
+                return false;
+            }
+            if (inFlight.compareAndSet(actuales, actuales + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Libera el permiso sin muestra de latencia (peticiones asíncronas o fallidas)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSuccess(long rttNanos) {
+        int enVuelo = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            if (longRtt == 0) {
+                shortRtt = rttNanos;
+                longRtt = rttNanos;
+                return;
+            }
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+            // Si la carga cambió de forma sostenida, la referencia se acerca para no quedarse anclada
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            // Con menos de la mitad del límite en uso la latencia no dice nada del límite
+            if (enVuelo < limit / 2) {
+                return;
+            }
+            double gradiente = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+            double nuevo = limit * gradiente + Math.sqrt(limit);
+            update(limit * (1 - SMOOTHING) + nuevo * SMOOTHING);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onOverload() {
+        inFlight.decrementAndGet();
+        lock.lock();
+        try {
+            update(limit * BACKOFF);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double nuevo) {
+        limit = Math.max(minLimit, Math.min(maxLimit, nuevo));
+    }
+}
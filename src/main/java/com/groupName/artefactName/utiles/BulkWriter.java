@@ -0,0 +1,196 @@
+package com.groupName.artefactName.utiles;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupName.artefactName.dto.BulkItemResult;
+import com.groupName.artefactName.dto.BulkResponse;
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Alta/actualización masiva de entidades a partir de un array JSON o NDJSON.
+ *
+ * El cuerpo se lee de forma incremental y solo admite los campos permitidos (BulkProperties). Los
+ * elementos sin id se validan con Bean Validation y se insertan; los que traen id cargan la entidad y
+ * aplican solo los campos presentes, validándose después del cambio. Se persisten en transacciones de
+ * bulk.chunk-size elementos; con hibernate.jdbc.batch_size los INSERT/UPDATE de cada lote viajan en
+ * batches JDBC. Si un lote falla se reintenta elemento a elemento para aislar los que fallan. Los lotes
+ * ya confirmados no se deshacen.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkWriter {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * @param campos campos que los elementos pueden traer; el resto se rechaza como INVALID.
+     */
+    public BulkResponse write(Class<?> entityClass, List<String> campos, InputStream body) throws IOException {
+        PersistenceUnitUtil unitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<BulkItemResult> resultados = new ArrayList<>();
+        List<Item> lote = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (MappingIterator<JsonNode> nodos = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            JsonNode nodo;
+            while ((nodo = nextItem(nodos, index)) != null) {
+                int actual = index++;
+                List<String> noPermitidos = new ArrayList<>();
+                nodo.fieldNames().forEachRemaining(campo -> {
+                    if (!campos.contains(campo)) {
+                        noPermitidos.add("Field not writable: " + campo);
+                    }
+                });
+                if (!noPermitidos.isEmpty()) {
+                    resultados.add(BulkItemResult.invalid(actual, noPermitidos));
+                    continue;
+                }
+                Object entidad;
+                try {
+                    entidad = objectMapper.treeToValue(nodo, entityClass);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    resultados.add(BulkItemResult.invalid(actual, List.of(NestedExceptionUtils.getMostSpecificCause(e).getMessage())));
+                    continue;
+                }
+                // Las actualizaciones se validan tras aplicar los campos sobre la entidad cargada
+                List<String> errores = unitUtil.getIdentifier(entidad) == null ? violations(entidad) : List.of();
+                if (!errores.isEmpty()) {
+                    resultados.add(BulkItemResult.invalid(actual, errores));
+                    continue;
+                }
+                lote.add(new Item(actual, nodo, entidad));
+                if (lote.size() == chunkSize) {
+                    resultados.addAll(persistChunk(entityClass, lote));
+                    lote = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            resultados.addAll(persistChunk(entityClass, lote));
+        }
+        resultados.sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        return BulkResponse.of(resultados);
+    }
+
+    private JsonNode nextItem(MappingIterator<JsonNode> nodos, int index) throws IOException {
+        try {
+            return nodos.hasNextValue() ? nodos.nextValue() : null;
+        } catch (JsonProcessingException e) {
+            throw new BusinessLogicException("Malformed bulk payload at item " + index + "; previously committed chunks were kept: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<BulkItemResult> persistChunk(Class<?> entityClass, List<Item> lote) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            return transactionTemplate.execute(status -> persist(entityClass, lote));
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                return List.of(BulkItemResult.failed(lote.get(0).index(), NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+            log.debug("Bulk chunk of {} failed, retrying items individually: {}", lote.size(), e.getMessage());
+            List<BulkItemResult> resultados = new ArrayList<>(lote.size());
+            for (Item item : lote) {
+                // El intento fallido pudo asignar un id a la instancia: se vuelve a construir desde el JSON
+                resultados.addAll(persistChunk(entityClass, List.of(item.fresh(objectMapper, entityClass))));
+            }
+            return resultados;
+        }
+    }
+
+    private List<BulkItemResult> persist(Class<?> entityClass, List<Item> lote) {
+        PersistenceUnitUtil unitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        BulkItemResult[] resultados = new BulkItemResult[lote.size()];
+        Object[] gestionadas = new Object[lote.size()];
+        boolean[] creadas = new boolean[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            Item item = lote.get(i);
+            Object id = unitUtil.getIdentifier(item.entity());
+            if (id == null) {
+                entityManager.persist(item.entity());
+                gestionadas[i] = item.entity();
+                creadas[i] = true;
+                continue;
+            }
+            // Carga y aplica solo los campos presentes: los omitidos conservan su valor
+            Object gestionada = entityManager.find(entityClass, id);
+            if (gestionada == null) {
+                resultados[i] = BulkItemResult.failed(item.index(), "Entity not found: " + id);
+                continue;
+            }
+            List<String> errores;
+            try {
+                objectMapper.readerForUpdating(gestionada).readValue(item.json());
+                errores = violations(gestionada);
+            } catch (IOException | IllegalArgumentException e) {
+                errores = List.of(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+            if (!errores.isEmpty()) {
+                // Fuera del contexto de persistencia: el flush no escribe el cambio rechazado
+                entityManager.detach(gestionada);
+                resultados[i] = BulkItemResult.invalid(item.index(), errores);
+                continue;
+            }
+            gestionadas[i] = gestionada;
+        }
+        entityManager.flush();
+        for (int i = 0; i < lote.size(); i++) {
+            if (resultados[i] == null) {
+                Object id = unitUtil.getIdentifier(gestionadas[i]);
+                resultados[i] = creadas[i]
+                        ? BulkItemResult.created(lote.get(i).index(), id)
+                        : BulkItemResult.updated(lote.get(i).index(), id);
+            }
+        }
+        entityManager.clear();
+        return List.of(resultados);
+    }
+
+    private List<String> violations(Object entidad) {
+        Set<ConstraintViolation<Object>> violaciones = validator.validate(entidad);
+        return violaciones.stream()
+                .map(violacion -> violacion.getPropertyPath() + ": " + violacion.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private record Item(int index, JsonNode json, Object entity) {
+
+        Item fresh(ObjectMapper objectMapper, Class<?> entityClass) {
+            try {
+                return new Item(index, json, objectMapper.treeToValue(json, entityClass));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
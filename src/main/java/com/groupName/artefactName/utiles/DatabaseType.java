@@ -0,0 +1,28 @@
+package com.groupName.artefactName.utiles;
+
+import java.util.Locale;
+
+/**
+ * Motores de base de datos soportados por los drivers declarados en el pom.xml.
+ */
+public enum DatabaseType {
+    H2,
+    POSTGRESQL,
+    MYSQL,
+    OTHER;
+
+    public static DatabaseType fromJdbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null) {
+            return OTHER;
+        }
+        String url = jdbcUrl.toLowerCase(Locale.ROOT);
+        if (url.startsWith("jdbc:h2:")) {
+            return H2;
+        } else if (url.startsWith("jdbc:postgresql:")) {
+            return POSTGRESQL;
+        } else if (url.startsWith("jdbc:mysql:")) {
+            return MYSQL;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,43 @@
+package com.groupName.artefactName.utiles;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Aplica el plazo de la petición en curso ({@link RequestDeadline}) a cada sentencia JDBC justo
+ * antes de ejecutarla: falla de inmediato si ya venció y, si no, fija el query timeout al tiempo
+ * restante (o al timeout propio de la sentencia, si es menor).
+ */
+public class DeadlineQueryListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return;
+        }
+        deadline.check();
+        Statement statement = execInfo.getStatement();
+        try {
+            int segundos = deadline.queryTimeoutSeconds();
+            int actual = statement.getQueryTimeout();
+            statement.setQueryTimeout(actual > 0 ? Math.min(actual, segundos) : segundos);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not apply request deadline to statement", ex);
+        }
+        deadline.register(statement);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            deadline.unregister(execInfo.getStatement());
+        }
+    }
+}
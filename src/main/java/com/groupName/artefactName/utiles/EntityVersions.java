@@ -0,0 +1,73 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.PreconditionFailedException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * ETags de un registro a partir de su versión (@Version o columna de última modificación) en lugar
+ * del cuerpo: se calculan con una consulta por id antes de cargar ni serializar nada, así que un
+ * If-None-Match que coincide se resuelve con 304 sin generar la respuesta.
+ *
+ * El ETag es fuerte, porque If-Match exige comparación fuerte: identifica la versión del registro
+ * sobre la que se escribe. Las listas filtradas usan el ETag del cuerpo (EtagConfig).
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityVersions {
+
+    private final FilterQueryExecutor filterQueryExecutor;
+
+    /**
+     * ETag fuerte del registro.
+     * @return vacío si la entidad no tiene versión o el registro no existe.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> etag(Class<?> entityClass, Object id) {
+        return filterQueryExecutor.createRecordVersionQuery(entityClass, id)
+                .map(TypedQuery::getSingleResult)
+                .filter(fila -> fila.get(FilterQueryExecutor.COUNT_SELECTION, Long.class) > 0)
+                .map(EntityVersions::state);
+    }
+
+    /**
+     * Concurrencia optimista para PUT/PATCH: sin If-Match no hay nada que comprobar; con él, la
+     * versión actual tiene que coincidir o se responde 412. La comparación es fuerte: un ETag débil
+     * (W/) nunca coincide. La escritura en sí sigue protegida por el @Version de Hibernate frente a
+     * una modificación entre esta comprobación y el commit.
+     */
+    @Transactional(readOnly = true)
+    public void checkIfMatch(Class<?> entityClass, Object id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        Optional<String> actual = etag(entityClass, id);
+        if (actual.isEmpty()) {
+            throw new PreconditionFailedException("Resource has no current version.");
+        }
+        if ("*".equals(ifMatch.trim())) {
+            return;
+        }
+        for (String candidato : ifMatch.split(",")) {
+            if (candidato.trim().equals(actual.get())) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("Resource was modified (If-Match does not match).");
+    }
+
+    static String state(Tuple fila) {
+        String estado = fila.get(FilterQueryExecutor.VERSION_SELECTION) + "|"
+                + fila.get(FilterQueryExecutor.MAX_ID_SELECTION) + "|"
+                + fila.get(FilterQueryExecutor.COUNT_SELECTION);
+        // Base64 URL: las versiones de tipo fecha contienen espacios, que no caben en un ETag
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(estado.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
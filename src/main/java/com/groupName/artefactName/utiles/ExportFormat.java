@@ -0,0 +1,34 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String formato) {
+        try {
+            return valueOf(formato.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessLogicException("Unsupported export format: " + formato);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.ExportJobProperties;
+import com.groupName.artefactName.config.ExportProperties;
+import com.groupName.artefactName.exceptions.ServiceOverloadedException;
+import com.groupName.artefactName.utiles.ExportJobStore.ExportJob;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportaciones que no caben en una petición HTTP: se encolan, un pool acotado de workers las procesa
+ * por bloques y el resultado queda en un fichero gzip local listo para descargar.
+ *
+ * Cada bloque es una consulta keyset por id (sin OFFSET) en su propia transacción de solo lectura y se
+ * escribe como un miembro gzip completo. Un fichero gzip puede contener varios miembros seguidos, así
+ * que tras cada bloque confirmado (force + progreso en la tabla) el fichero es válido hasta ese punto.
+ * Si el nodo se detiene a mitad, al arrancar se trunca lo escrito después del último bloque confirmado
+ * y se continúa desde el último id guardado.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "export-jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class ExportJobService {
+
+    static final String MDC_KEY = "exportJob";
+    private static final int GZIP_BUFFER = 64 * 1024;
+
+    private final ExportJobProperties properties;
+    private final ExportProperties exportProperties;
+    private final ExportJobStore store;
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final FilterExportWriter filterExportWriter;
+    private final TransactionTemplate readOnly;
+    private final ExecutorService executor;
+    private final String node;
+
+    public ExportJobService(ExportJobProperties properties, ExportProperties exportProperties, ExportJobStore store,
+                            FilterQueryExecutor filterQueryExecutor, FilterExportWriter filterExportWriter,
+                            PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.exportProperties = exportProperties;
+        this.store = store;
+        this.filterQueryExecutor = filterQueryExecutor;
+        this.filterExportWriter = filterExportWriter;
+        // Solo lectura: con réplicas configuradas los bloques se leen de ellas (ReadReplicaDataSource)
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.node = StringUtils.hasText(properties.getNode()) ? properties.getNode() : hostName();
+        // Sin CallerRunsPolicy: con la cola llena se rechaza en lugar de exportar en el hilo de la petición
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), new CustomizableThreadFactory("export-job-"));
+    }
+
+    /**
+     * Registra el trabajo y lo encola. Las columnas y los filtros se validan aquí para que un error
+     * del cliente sea un 400 inmediato y no un trabajo fallido.
+     */
+    public ExportJob submit(String owner, String entidad, Map<String, String> filtros, List<String> campos, ExportFormat formato) {
+        Class<?> entityClass = filterQueryExecutor.resolveEntityClass(entidad);
+        List<String> columnas = exportProperties.columns(entidad, campos, filtros);
+        readOnly.executeWithoutResult(status -> {
+            filterQueryExecutor.validateFields(entityClass, columnas);
+            filterQueryExecutor.createCountQuery(entityClass, filtros);
+        });
+        long ahora = System.currentTimeMillis();
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), owner, node, entidad, Map.copyOf(filtros), List.copyOf(columnas), formato,
+                ExportJobStatus.QUEUED, 0, null, 0, null, null, ahora, ahora);
+        store.insert(job);
+        try {
+            schedule(job.id());
+        } catch (RejectedExecutionException ex) {
+            store.fail(job.id(), "Export queue is full.");
+            throw new ServiceOverloadedException("Export queue is full, retry later.");
+        }
+        return job;
+    }
+
+    /**
+     * @throws EntityNotFoundException si no existe o es de otro usuario (no se revela cuál de las dos).
+     */
+    public ExportJob find(String id, String owner) {
+        return store.find(id)
+                .filter(job -> job.owner().equals(owner))
+                .orElseThrow(() -> new EntityNotFoundException("Export job not found: " + id));
+    }
+
+    public Path file(String id) {
+        // El id es siempre un UUID generado aquí; cualquier otra cosa podría escapar del directorio
+        return properties.getDirectory().resolve(UUID.fromString(id) + ".gz");
+    }
+
+    private Path partFile(String id) {
+        return properties.getDirectory().resolve(UUID.fromString(id) + ".part");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (ExportJob job : store.findUnfinished(node)) {
+            try {
+                schedule(job.id());
+                log.info("Export job {} resumed at {} rows", job.id(), job.rowsWritten());
+            } catch (RejectedExecutionException ex) {
+                log.warn("Export queue full, job {} stays queued until next restart", job.id());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Los trabajos en curso se interrumpen entre bloques y quedan RUNNING para reanudarse al arrancar
+        executor.shutdownNow();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Export workers did not stop in time");
+        }
+    }
+
+    private void schedule(String id) {
+        executor.execute(TraceContext.propagate(() -> run(id)));
+    }
+
+    void run(String id) {
+        MDC.put(MDC_KEY, id);
+        try {
+            Optional<ExportJob> job = store.find(id);
+            if (job.isPresent() && store.claim(id, node)) {
+                process(job.get());
+            }
+        } catch (RuntimeException | IOException ex) {
+            if (executor.isShutdown()) {
+                log.info("Export job {} interrupted by shutdown", id);
+                return;
+            }
+            log.warn("Export job {} failed: {}", id, ex.toString());
+            store.fail(id, ex.getMessage());
+            deleteQuietly(partFile(id));
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    private void process(ExportJob job) throws IOException {
+        Class<?> entityClass = filterQueryExecutor.resolveEntityClass(job.entity());
+        // Las columnas se resolvieron contra ExportProperties al encolar
+        List<String> columnas = readOnly.execute(status -> filterQueryExecutor.validateFields(entityClass, job.fields()));
+        if (job.totalRows() == null) {
+            Long total = readOnly.execute(status -> filterQueryExecutor.createCountQuery(entityClass, job.filters()).getSingleResult());
+            store.total(job.id(), total);
+        }
+
+        Files.createDirectories(properties.getDirectory());
+        Path parcial = partFile(job.id());
+        long filas = job.rowsWritten();
+        String ultimoId = job.lastId();
+        try (FileChannel canal = FileChannel.open(parcial, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Lo que haya después del último bloque confirmado es un bloque a medias: se descarta
+            canal.truncate(job.bytesWritten());
+            canal.position(job.bytesWritten());
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Export job {} paused at {} rows", job.id(), filas);
+                    return;
+                }
+                boolean cabecera = canal.position() == 0;
+                Chunk bloque = writeChunk(entityClass, columnas, job, ultimoId, cabecera, canal);
+                canal.force(false);
+                filas += bloque.rows();
+                if (bloque.lastId() != null) {
+                    ultimoId = bloque.lastId();
+                }
+                store.progress(job.id(), filas, canal.position(), ultimoId);
+                if (bloque.rows() < properties.getChunkSize()) {
+                    break;
+                }
+            }
+        }
+        Files.move(parcial, file(job.id()), StandardCopyOption.ATOMIC_MOVE);
+        store.complete(job.id());
+        log.info("Export job {} completed: {} rows", job.id(), filas);
+    }
+
+    private Chunk writeChunk(Class<?> entityClass, List<String> columnas, ExportJob job, String despuesDe, boolean cabecera, FileChannel canal) {
+        return readOnly.execute(status -> {
+            TypedQuery<Tuple> query = filterQueryExecutor.createKeysetQuery(entityClass, columnas, job.filters(), despuesDe, properties.getChunkSize());
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            List<Tuple> filas = query.getResultList();
+            // Un miembro gzip por bloque; nonClosing para que cerrar el gzip no cierre el canal
+            try (GZIPOutputStream gzip = new GZIPOutputStream(StreamUtils.nonClosing(Channels.newOutputStream(canal)), GZIP_BUFFER)) {
+                filterExportWriter.write(columnas, filas.iterator(), job.format(), cabecera, gzip);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Object ultimo = filas.isEmpty() ? null : filas.get(filas.size() - 1).get(FilterQueryExecutor.KEYSET_SELECTION);
+            return new Chunk(filas.size(), ultimo == null ? null : ultimo.toString());
+        });
+    }
+
+    /**
+     * Borra los trabajos de este nodo terminados hace más de {@code export-jobs.retention} y sus
+     * ficheros, aunque no lleguen nuevas exportaciones.
+     */
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        long antesDe = System.currentTimeMillis() - properties.getRetention().toMillis();
+        store.purgeFinished(node, antesDe).forEach(id -> deleteQuietly(file(id)));
+    }
+
+    private static void deleteQuietly(Path fichero) {
+        try {
+            Files.deleteIfExists(fichero);
+        } catch (IOException ex) {
+            log.warn("Could not delete export file {}: {}", fichero, ex.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "localhost";
+        }
+    }
+
+    private record Chunk(int rows, String lastId) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.groupName.artefactName.utiles;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Estado y progreso de las exportaciones en segundo plano, guardados en el datasource.
+ *
+ * Cada bloque escrito actualiza filas, bytes y último id en una sola sentencia: tras una caída el
+ * trabajo se reanuda exactamente desde el último bloque confirmado. Las fechas se guardan como
+ * epoch millis, igual que en JdbcIdempotencyStore. La tabla la crea init.sql (o la migración del motor
+ * de producción), no este componente.
+ */
+@Component
+@ConditionalOnProperty(name = "export-jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class ExportJobStore {
+
+    static final String TABLE = "export_job";
+    // Longitud de la columna error en init.sql
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> FILTERS_TYPE = new TypeReference<>() {
+    };
+
+    public record ExportJob(String id, String owner, String node, String entity, Map<String, String> filters,
+                            List<String> fields, ExportFormat format, ExportJobStatus status, long rowsWritten,
+                            Long totalRows, long bytesWritten, String lastId, String error, long createdAt, long updatedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportJobStore(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void insert(ExportJob job) {
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (id, owner, node, entity, filters, fields, format, status, rows_written, "
+                        + "bytes_written, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                job.id(), job.owner(), job.node(), job.entity(), writeFilters(job.filters()), String.join(",", job.fields()),
+                job.format().name(), job.status().name(), job.rowsWritten(), job.bytesWritten(), job.createdAt(), job.updatedAt());
+    }
+
+    /**
+     * Marca el trabajo como en curso en este nodo.
+     * @return false si ya terminó o pertenece a otro nodo.
+     */
+    public boolean claim(String id, String node) {
+        return jdbcTemplate.update("UPDATE " + TABLE + " SET status = ?, updated_at = ? WHERE id = ? AND node = ? AND status IN (?, ?)",
+                ExportJobStatus.RUNNING.name(), System.currentTimeMillis(), id, node,
+                ExportJobStatus.QUEUED.name(), ExportJobStatus.RUNNING.name()) == 1;
+    }
+
+    public void total(String id, long totalRows) {
+        jdbcTemplate.update("UPDATE " + TABLE + " SET total_rows = ?, updated_at = ? WHERE id = ?",
+                totalRows, System.currentTimeMillis(), id);
+    }
+
+    public void progress(String id, long rowsWritten, long bytesWritten, String lastId) {
+        jdbcTemplate.update("UPDATE " + TABLE + " SET rows_written = ?, bytes_written = ?, last_id = ?, updated_at = ? WHERE id = ?",
+                rowsWritten, bytesWritten, lastId, System.currentTimeMillis(), id);
+    }
+
+    public void complete(String id) {
+        finish(id, ExportJobStatus.COMPLETED, null);
+    }
+
+    public void fail(String id, String error) {
+        String mensaje = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        finish(id, ExportJobStatus.FAILED, mensaje);
+    }
+
+    public Optional<ExportJob> find(String id) {
+        return jdbcTemplate.query("SELECT * FROM " + TABLE + " WHERE id = ?", this::map, id).stream().findFirst();
+    }
+
+    /**
+     * Trabajos de este nodo sin terminar: en cola o cortados a mitad por una parada.
+     */
+    public List<ExportJob> findUnfinished(String node) {
+        return jdbcTemplate.query("SELECT * FROM " + TABLE + " WHERE node = ? AND status IN (?, ?) ORDER BY created_at",
+                this::map, node, ExportJobStatus.QUEUED.name(), ExportJobStatus.RUNNING.name());
+    }
+
+    /**
+     * Borra los trabajos de este nodo terminados antes de {@code antesDe}.
+     * @return los ids borrados, para eliminar sus ficheros.
+     */
+    public List<String> purgeFinished(String node, long antesDe) {
+        List<String> ids = jdbcTemplate.queryForList("SELECT id FROM " + TABLE + " WHERE node = ? AND status IN (?, ?) AND updated_at < ?",
+                String.class, node, ExportJobStatus.COMPLETED.name(), ExportJobStatus.FAILED.name(), antesDe);
+        ids.forEach(id -> jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id = ?", id));
+        return ids;
+    }
+
+    private void finish(String id, ExportJobStatus status, String error) {
+        jdbcTemplate.update("UPDATE " + TABLE + " SET status = ?, error = ?, updated_at = ? WHERE id = ?",
+                status.name(), error, System.currentTimeMillis(), id);
+    }
+
+    private ExportJob map(ResultSet rs, int fila) throws SQLException {
+        return new ExportJob(rs.getString("id"), rs.getString("owner"), rs.getString("node"), rs.getString("entity"),
+                readFilters(rs.getString("filters")), FilterParameters.campos(rs.getString("fields")), ExportFormat.valueOf(rs.getString("format")),
+                ExportJobStatus.valueOf(rs.getString("status")), rs.getLong("rows_written"), rs.getObject("total_rows", Long.class),
+                rs.getLong("bytes_written"), rs.getString("last_id"), rs.getString("error"), rs.getLong("created_at"), rs.getLong("updated_at"));
+    }
+
+    private static String writeFilters(Map<String, String> filtros) {
+        try {
+            return JSON.writeValueAsString(filtros);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid export filters", e);
+        }
+    }
+
+    private static Map<String, String> readFilters(String texto) {
+        try {
+            return JSON.readValue(texto, FILTERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt export filters: " + texto, e);
+        }
+    }
+}
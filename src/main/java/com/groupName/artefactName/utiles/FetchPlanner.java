@@ -0,0 +1,139 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.AttributeNode;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.Hibernate;
+import org.hibernate.graph.Graph;
+import org.hibernate.graph.RootGraph;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Traduce {@code expand=} y {@code graph=} en un plan de carga de asociaciones.
+ *
+ * Las asociaciones a-uno se añaden a un load graph y llegan en la misma consulta (compatible con la
+ * paginación). Las colecciones no se unen, porque Hibernate paginaría en memoria: se inicializan después
+ * y hibernate.default_batch_fetch_size las carga por lotes, acotando el número de consultas.
+ *
+ * Un grafo con nombre ({@code @NamedEntityGraph}) se traduce a las mismas rutas, así que sus colecciones
+ * también se cargan por lotes. Solo se admiten los grafos de la propia entidad.
+ */
+@Component
+public class FetchPlanner {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @SuppressWarnings("unchecked")
+    public <T> FetchPlan plan(Class<T> entityClass, String graphName, List<String> expand) {
+        if (graphName != null && !graphName.isBlank()) {
+            expand = graphPaths(entityClass, graphName);
+        }
+        if (expand.isEmpty()) {
+            return FetchPlan.NONE;
+        }
+        RootGraph<T> graph = (RootGraph<T>) entityManager.createEntityGraph(entityClass);
+        List<String> colecciones = new ArrayList<>();
+        for (String ruta : expand) {
+            addPath(graph, entityManager.getMetamodel().managedType(entityClass), ruta, colecciones);
+        }
+        return new FetchPlan(graph, colecciones);
+    }
+
+    /**
+     * Rutas de expand equivalentes al grafo con nombre de la entidad.
+     * @throws BusinessLogicException si la entidad no declara un grafo con ese nombre.
+     */
+    public <T> List<String> graphPaths(Class<T> entityClass, String graphName) {
+        EntityGraph<?> grafo = entityManager.getEntityGraphs(entityClass).stream()
+                .filter(candidato -> graphName.equals(candidato.getName()))
+                .findFirst()
+                .orElseThrow(() -> new BusinessLogicException("Unknown entity graph: " + graphName));
+        List<String> rutas = new ArrayList<>();
+        collectPaths("", grafo.getAttributeNodes(), rutas);
+        return rutas;
+    }
+
+    // Rutas de expand equivalentes a los nodos del grafo: "cliente", "cliente.pais", "lineas"...
+    private static void collectPaths(String prefijo, List<AttributeNode<?>> nodos, List<String> rutas) {
+        for (AttributeNode<?> nodo : nodos) {
+            String ruta = prefijo + nodo.getAttributeName();
+            List<AttributeNode<?>> hijos = nodo.getSubgraphs().values().stream()
+                    .flatMap(subgrafo -> subgrafo.getAttributeNodes().stream())
+                    .toList();
+            if (hijos.isEmpty()) {
+                rutas.add(ruta);
+            } else {
+                collectPaths(ruta + ".", hijos, rutas);
+            }
+        }
+    }
+
+    private void addPath(Graph<?> graph, ManagedType<?> type, String ruta, List<String> colecciones) {
+        String[] segmentos = ruta.split("\\.");
+        Graph<?> actual = graph;
+        ManagedType<?> tipoActual = type;
+        for (int i = 0; i < segmentos.length; i++) {
+            Attribute<?, ?> atributo = association(tipoActual, segmentos[i], ruta);
+            if (atributo.isCollection()) {
+                if (i != segmentos.length - 1) {
+                    throw new BusinessLogicException("Collections can only be expanded as the last path segment: " + ruta);
+                }
+                colecciones.add(ruta);
+                return;
+            }
+            if (i == segmentos.length - 1) {
+                actual.addAttributeNode(segmentos[i]);
+            } else {
+                actual = actual.addSubGraph(segmentos[i]);
+                tipoActual = entityManager.getMetamodel().managedType(((SingularAttribute<?, ?>) atributo).getJavaType());
+            }
+        }
+    }
+
+    private Attribute<?, ?> association(ManagedType<?> type, String nombre, String ruta) {
+        Attribute<?, ?> atributo;
+        try {
+            atributo = type.getAttribute(nombre);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessLogicException("Unknown expand path: " + ruta);
+        }
+        if (!atributo.isAssociation() && !(atributo instanceof PluralAttribute<?, ?, ?>)) {
+            throw new BusinessLogicException("Expand path is not an association: " + ruta);
+        }
+        return atributo;
+    }
+
+    public record FetchPlan(EntityGraph<?> graph, List<String> collections) {
+
+        static final FetchPlan NONE = new FetchPlan(null, List.of());
+
+        public void apply(TypedQuery<?> query) {
+            if (graph != null) {
+                query.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, graph);
+            }
+        }
+
+        public void initializeCollections(List<?> entidades) {
+            for (String coleccion : collections) {
+                for (Object entidad : entidades) {
+                    BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entidad);
+                    Hibernate.initialize(wrapper.getPropertyValue(coleccion));
+                }
+            }
+        }
+    }
+}
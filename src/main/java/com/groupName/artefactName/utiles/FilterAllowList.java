@@ -0,0 +1,154 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.FilterProperties;
+import com.groupName.artefactName.dto.PageResponse;
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.PluralAttribute;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica {@link FilterProperties} a /api/filter: comprueba lo que pide la petición antes de consultar y,
+ * cuando la página trae entidades (expand), las reduce a sus columnas permitidas antes de serializarlas.
+ */
+@Component
+@RequiredArgsConstructor
+public class FilterAllowList {
+
+    private final FilterProperties properties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Columnas a devolver: las pedidas, o todas las permitidas si no se pide ninguna.
+     * @throws EntityNotFoundException si la entidad no es consultable (misma respuesta que si no existiera).
+     * @throws BusinessLogicException si se pide, se filtra, se ordena o se expande algo no permitido.
+     */
+    public List<String> columns(Class<?> entityClass, List<String> campos, Map<String, String> filtros, Sort sort, List<String> expand) {
+        List<String> permitidas = properties.columns(name(entityClass));
+        for (String campo : campos) {
+            if (!permitidas.contains(campo)) {
+                throw new BusinessLogicException("Field not allowed: " + campo);
+            }
+        }
+        for (String filtro : filtros.keySet()) {
+            // Un filtro sobre una columna oculta revelaría su contenido fila a fila
+            if (!permitidas.contains(firstSegment(filtro))) {
+                throw new BusinessLogicException("Filter not allowed: " + filtro);
+            }
+        }
+        for (Sort.Order orden : sort) {
+            if (!permitidas.contains(firstSegment(orden.getProperty()))) {
+                throw new BusinessLogicException("Sort not allowed: " + orden.getProperty());
+            }
+        }
+        for (String ruta : expand) {
+            checkPath(entityClass, ruta);
+        }
+        return campos.isEmpty() ? permitidas : campos;
+    }
+
+    /**
+     * Página de entidades convertida en mapas con las columnas indicadas y, anidadas, las asociaciones
+     * expandidas con las columnas permitidas de su propia entidad.
+     */
+    public PageResponse<Map<String, Object>> view(PageResponse<?> pagina, List<String> columnas, List<String> expand) {
+        List<Map<String, Object>> content = pagina.getContent().stream()
+                .map(entidad -> view(entidad, columnas, expand))
+                .toList();
+        return PageResponse.<Map<String, Object>>builder()
+                .content(content)
+                .page(pagina.getPage())
+                .size(pagina.getSize())
+                .hasNext(pagina.isHasNext())
+                .total(pagina.getTotal())
+                .totalMode(pagina.getTotalMode())
+                .build();
+    }
+
+    private Map<String, Object> view(Object entidad, List<String> columnas, List<String> expand) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entidad);
+        Map<String, Object> fila = new LinkedHashMap<>(columnas.size() * 2);
+        for (String columna : columnas) {
+            fila.put(columna, wrapper.getPropertyValue(columna));
+        }
+        subpaths(expand).forEach((asociacion, resto) -> {
+            Object valor = wrapper.getPropertyValue(asociacion);
+            fila.put(asociacion, valor instanceof Collection<?> elementos
+                    ? elementos.stream().map(elemento -> nested(elemento, resto)).toList()
+                    : nested(valor, resto));
+        });
+        return fila;
+    }
+
+    private Map<String, Object> nested(Object valor, List<String> expand) {
+        if (valor == null) {
+            return null;
+        }
+        Object entidad = Hibernate.unproxy(valor);
+        return view(entidad, properties.columns(name(entidad.getClass())), expand);
+    }
+
+    // Cada segmento tiene que estar permitido en su entidad, y la entidad destino ser consultable
+    private void checkPath(Class<?> entityClass, String ruta) {
+        Class<?> actual = entityClass;
+        for (String segmento : ruta.split("\\.")) {
+            if (!properties.associations(name(actual)).contains(segmento)) {
+                throw new BusinessLogicException("Expand not allowed: " + ruta);
+            }
+            Attribute<?, ?> atributo;
+            try {
+                atributo = entityManager.getMetamodel().entity(actual).getAttribute(segmento);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessLogicException("Unknown expand path: " + ruta);
+            }
+            actual = atributo instanceof PluralAttribute<?, ?, ?> plural
+                    ? plural.getElementType().getJavaType()
+                    : atributo.getJavaType();
+            if (!properties.isFilterable(name(actual))) {
+                throw new BusinessLogicException("Expand not allowed: " + ruta);
+            }
+        }
+    }
+
+    private String name(Class<?> entityClass) {
+        try {
+            return entityManager.getMetamodel().entity(entityClass).getName();
+        } catch (IllegalArgumentException e) {
+            return entityClass.getSimpleName();
+        }
+    }
+
+    // "cliente.pais", "pedidos" -> {cliente=[pais], pedidos=[]}
+    private static Map<String, List<String>> subpaths(List<String> expand) {
+        Map<String, List<String>> resultado = new LinkedHashMap<>();
+        for (String ruta : expand) {
+            int punto = ruta.indexOf('.');
+            List<String> resto = resultado.computeIfAbsent(punto < 0 ? ruta : ruta.substring(0, punto), clave -> new ArrayList<>());
+            if (punto >= 0) {
+                resto.add(ruta.substring(punto + 1));
+            }
+        }
+        return resultado;
+    }
+
+    private static String firstSegment(String ruta) {
+        int punto = ruta.indexOf('.');
+        return punto < 0 ? ruta : ruta.substring(0, punto);
+    }
+}
@@ -0,0 +1,24 @@
+package com.groupName.artefactName.utiles;
+
+/**
+ * Filtro ya validado contra el metamodelo: atributo, operador y valor convertido al tipo del atributo
+ * (para los operadores LIKE, el patrón completo; para JSON_CONTAINS, el fragmento JSON).
+ * En los filtros JSON el atributo puede incluir una ruta: {@code metadata.address.city}.
+ */
+public record FilterCondition(String attribute, FilterOperator operator, Object value) {
+
+    /**
+     * Atributo de la entidad, sin la ruta JSON.
+     */
+    public String column() {
+        int punto = attribute.indexOf('.');
+        return punto < 0 ? attribute : attribute.substring(0, punto);
+    }
+
+    public Class<?> parameterType() {
+        return switch (operator) {
+            case CONTAINS, PREFIX, IGNORE_CASE_PREFIX, FULL_TEXT, JSON_CONTAINS -> String.class;
+            default -> value.getClass();
+        };
+    }
+}
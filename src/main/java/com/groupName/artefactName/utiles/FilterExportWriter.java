@@ -0,0 +1,168 @@
+package com.groupName.artefactName.utiles;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Exporta el resultado de una consulta filtrada directamente al stream de salida.
+ *
+ * La consulta se recorre con un cursor de solo avance (fetch size JDBC) y proyecta solo columnas, de modo
+ * que ninguna fila queda retenida: la memoria usada no depende del número de filas exportadas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FilterExportWriter {
+
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final DatabaseType databaseType;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * @param campos columnas a exportar, ya comprobadas contra ExportProperties.
+     */
+    public void export(Class<?> entityClass, Map<String, ?> filtros, Sort sort, List<String> campos, ExportFormat formato, OutputStream out) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // Sin proxy en el ResultSet: con millones de filas la llamada reflexiva por next() se nota
+        SqlStatementListener.streaming(() -> transactionTemplate.executeWithoutResult(status -> {
+            List<String> columnas = filterQueryExecutor.validateFields(entityClass, campos);
+            TypedQuery<Tuple> query = filterQueryExecutor.createTupleQuery(entityClass, columnas, filtros, sort);
+            // MySQL solo emite filas de una en una con fetch size Integer.MIN_VALUE
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, databaseType == DatabaseType.MYSQL ? Integer.MIN_VALUE : fetchSize);
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            try (Stream<Tuple> filas = query.getResultStream()) {
+                long total = write(columnas, filas.iterator(), formato, true, out);
+                log.debug("Exported {} rows of {} as {}", total, entityClass.getSimpleName(), formato);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    /**
+     * Escribe las filas en el formato pedido. Las exportaciones por bloques (ExportJobService) solo
+     * escriben la cabecera CSV en el primero.
+     */
+    public long write(List<String> columnas, Iterator<Tuple> filas, ExportFormat formato, boolean cabecera, OutputStream out) throws IOException {
+        return formato == ExportFormat.CSV
+                ? writeCsv(columnas, filas, cabecera, out)
+                : writeNdjson(columnas, filas, out);
+    }
+
+    private long writeNdjson(List<String> columnas, Iterator<Tuple> filas, OutputStream out) throws IOException {
+        long total = 0;
+        // Sin flush por valor: se vacía el buffer una vez por lote
+        ObjectWriter valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (filas.hasNext()) {
+                Tuple fila = filas.next();
+                generator.writeStartObject();
+                for (String columna : columnas) {
+                    generator.writeFieldName(columna);
+                    valueWriter.writeValue(generator, fila.get(columna));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (++total % fetchSize == 0 || total == 1) {
+                    flushChunk(generator::flush);
+                }
+            }
+        }
+        return total;
+    }
+
+    private long writeCsv(List<String> columnas, Iterator<Tuple> filas, boolean cabecera, OutputStream out) throws IOException {
+        long total = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (cabecera) {
+            writeCsvLine(writer, columnas);
+            writer.flush();
+        }
+        while (filas.hasNext()) {
+            Tuple fila = filas.next();
+            for (int i = 0; i < columnas.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object valor = fila.get(i);
+                if (valor != null) {
+                    writer.write(escapeCsv(valor.toString()));
+                }
+            }
+            writer.write("\r\n");
+            if (++total % fetchSize == 0 || total == 1) {
+                flushChunk(writer::flush);
+            }
+        }
+        writer.flush();
+        return total;
+    }
+
+    private void flushChunk(IoAction flush) throws IOException {
+        flush.run();
+        // Las tuplas no se gestionan, pero se vacía el contexto por si la consulta hubiera cargado entidades
+        entityManager.clear();
+    }
+
+    private static void writeCsvLine(Writer writer, List<String> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(valores.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Escapa un valor según RFC 4180: entre comillas si contiene separadores, comillas o saltos de línea.
+     */
+    static String escapeCsv(String valor) {
+        boolean requiereComillas = false;
+        for (int i = 0; i < valor.length() && !requiereComillas; i++) {
+            char c = valor.charAt(i);
+            requiereComillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return requiereComillas ? '"' + valor.replace("\"", "\"\"") + '"' : valor;
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
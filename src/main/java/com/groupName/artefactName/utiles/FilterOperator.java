@@ -0,0 +1,25 @@
+package com.groupName.artefactName.utiles;
+
+/**
+ * Operador resultante de inferir un filtro. Junto con el atributo forma la "forma" de la consulta:
+ * dos peticiones con los mismos atributos y operadores generan el mismo SQL.
+ */
+public enum FilterOperator {
+    EQUAL(true),
+    CONTAINS(true),
+    PREFIX(true),
+    IGNORE_CASE_PREFIX(true),
+    FULL_TEXT(true),
+    JSON_CONTAINS(true),
+    MATCH_ALL(false);
+
+    private final boolean parameterized;
+
+    FilterOperator(boolean parameterized) {
+        this.parameterized = parameterized;
+    }
+
+    public boolean isParameterized() {
+        return parameterized;
+    }
+}
@@ -0,0 +1,190 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.dto.PageResponse;
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Paginación de consultas filtradas con distintos costes para el total: ver {@link PagingMode}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FilterPager {
+
+    static final int MAX_CACHED_TOTALS = 10_000;
+
+    private final FilterQueryExecutor filterQueryExecutor;
+    private final FetchPlanner fetchPlanner;
+    private final DatabaseType databaseType;
+
+    private final Map<CountKey, CachedTotal> totals = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${filter.paging.count-ttl:30s}")
+    private Duration countTtl;
+
+    @Transactional(readOnly = true)
+    public <T> PageResponse<T> findPage(Class<T> entityClass, Map<String, ?> filtros, Sort sort, int page, int size, PagingMode modo) {
+        return page(filterQueryExecutor.createQuery(entityClass, filtros, sort), entityClass, filtros, page, size, modo, Function.identity());
+    }
+
+    /**
+     * Página de entidades cargando las asociaciones pedidas con {@code expand=} o un grafo con nombre,
+     * en un número acotado de consultas (ver {@link FetchPlanner}).
+     */
+    @Transactional(readOnly = true)
+    public <T> PageResponse<T> findPage(Class<T> entityClass, Map<String, ?> filtros, Sort sort, String graph, List<String> expand, int page, int size, PagingMode modo) {
+        FetchPlanner.FetchPlan plan = fetchPlanner.plan(entityClass, graph, expand);
+        TypedQuery<T> query = filterQueryExecutor.createQuery(entityClass, filtros, sort);
+        plan.apply(query);
+        PageResponse<T> resultado = page(query, entityClass, filtros, page, size, modo, Function.identity());
+        plan.initializeCollections(resultado.getContent());
+        return resultado;
+    }
+
+    /**
+     * Página proyectada sobre los campos pedidos ({@code fields=}): devuelve mapas campo/valor sin
+     * instanciar entidades ni registrarlas en el contexto de persistencia.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> findPage(Class<?> entityClass, Map<String, ?> filtros, Sort sort, List<String> campos, int page, int size, PagingMode modo) {
+        List<String> validados = filterQueryExecutor.validateFields(entityClass, campos);
+        return page(filterQueryExecutor.createTupleQuery(entityClass, validados, filtros, sort), entityClass, filtros, page, size, modo,
+                tuple -> toMap(tuple, validados));
+    }
+
+    private static int offset(int page, int size) {
+        try {
+            return Math.multiplyExact(page, size);
+        } catch (ArithmeticException ex) {
+            // page * size desbordaría el int de setFirstResult y saltaría a un desplazamiento negativo
+            throw new BusinessLogicException("Page " + page + " with size " + size + " is beyond the last addressable row");
+        }
+    }
+
+    private <R, T> PageResponse<T> page(TypedQuery<R> query, Class<?> entityClass, Map<String, ?> filtros, int page, int size, PagingMode modo, Function<R, T> mapper) {
+        List<R> filas = query
+                .setFirstResult(offset(page, size))
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = filas.size() > size;
+        List<T> content = (hasNext ? filas.subList(0, size) : filas).stream().map(mapper).toList();
+
+        Long total = null;
+        if (modo != PagingMode.HAS_NEXT) {
+            // Si la página no está llena y hay filas, el total se deduce sin contar
+            total = !hasNext && (page == 0 || !content.isEmpty())
+                    ? (long) page * size + content.size()
+                    : total(entityClass, filtros, modo);
+        }
+        return PageResponse.<T>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .hasNext(hasNext)
+                .total(total)
+                .totalMode(modo)
+                .build();
+    }
+
+    static Map<String, Object> toMap(Tuple tuple, List<String> campos) {
+        Map<String, Object> fila = new LinkedHashMap<>(campos.size() * 2);
+        for (int i = 0; i < campos.size(); i++) {
+            fila.put(campos.get(i), tuple.get(i));
+        }
+        return fila;
+    }
+
+    private long total(Class<?> entityClass, Map<String, ?> filtros, PagingMode modo) {
+        if (modo == PagingMode.APPROXIMATE && filtros.isEmpty()) {
+            Long estimado = estimatedRowCount(entityClass);
+            if (estimado != null) {
+                return estimado;
+            }
+        }
+        if (modo == PagingMode.EXACT) {
+            return filterQueryExecutor.createCountQuery(entityClass, filtros).getSingleResult();
+        }
+        CountKey key = new CountKey(entityClass, Map.copyOf(filtros));
+        long now = System.nanoTime();
+        CachedTotal cached = totals.get(key);
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return cached.total();
+        }
+        long total = filterQueryExecutor.createCountQuery(entityClass, filtros).getSingleResult();
+        if (totals.size() >= MAX_CACHED_TOTALS) {
+            totals.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        }
+        if (totals.size() < MAX_CACHED_TOTALS) {
+            totals.put(key, new CachedTotal(total, now + countTtl.toNanos()));
+        }
+        return total;
+    }
+
+    /**
+     * Número de filas según las estadísticas del motor, o null si no hay estimación disponible.
+     */
+    Long estimatedRowCount(Class<?> entityClass) {
+        String sql = switch (databaseType) {
+            case POSTGRESQL -> "select cast(reltuples as bigint) from pg_class where relname = lower(?1)";
+            case H2 -> "select row_count_estimate from information_schema.tables where upper(table_name) = upper(?1)";
+            case MYSQL -> "select table_rows from information_schema.tables where table_schema = database() and lower(table_name) = lower(?1)";
+            case OTHER -> null;
+        };
+        if (sql == null) {
+            return null;
+        }
+        try {
+            List<?> resultado = entityManager.createNativeQuery(sql).setParameter(1, tableName(entityClass)).getResultList();
+            if (resultado.isEmpty() || resultado.get(0) == null) {
+                return null;
+            }
+            long estimado = ((Number) resultado.get(0)).longValue();
+            // PostgreSQL devuelve -1 si la tabla nunca se ha analizado
+            return estimado < 0 ? null : estimado;
+        } catch (PersistenceException e) {
+            log.debug("Row count estimate not available for {}: {}", entityClass.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String tableName(Class<?> entityClass) {
+        EntityPersister persister = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+        String tableName = ((AbstractEntityPersister) persister).getTableName();
+        String unqualified = tableName.substring(tableName.lastIndexOf('.') + 1);
+        return unqualified.replace("\"", "").replace("`", "");
+    }
+
+    // Copia inmutable y no su toString(): un valor con ", b=" no puede hacerse pasar por dos filtros
+    private record CountKey(Class<?> entityClass, Map<String, ?> filtros) {
+    }
+
+    private record CachedTotal(long total, long expiresAt) {
+    }
+}
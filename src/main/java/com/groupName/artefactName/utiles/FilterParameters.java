@@ -0,0 +1,51 @@
+package com.groupName.artefactName.utiles;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Separa los filtros de los parámetros de control que comparten la query string.
+ */
+public final class FilterParameters {
+
+    public static final String FORMAT = "format";
+    public static final String SORT = "sort";
+    public static final String PAGE = "page";
+    public static final String SIZE = "size";
+    public static final String PAGING = "paging";
+    public static final String FIELDS = "fields";
+    public static final String EXPAND = "expand";
+    public static final String GRAPH = "graph";
+
+    private static final Set<String> RESERVED = Set.of(FORMAT, SORT, PAGE, SIZE, PAGING, FIELDS, EXPAND, GRAPH);
+
+    private FilterParameters() {
+    }
+
+    public static Map<String, String> filtros(Map<String, String> parametros) {
+        Map<String, String> filtros = new LinkedHashMap<>();
+        parametros.forEach((nombre, valor) -> {
+            if (!RESERVED.contains(nombre)) {
+                filtros.put(nombre, valor);
+            }
+        });
+        return filtros;
+    }
+
+    /**
+     * Lista separada por comas de {@code fields=} o {@code expand=}; vacía si el parámetro no se envía.
+     */
+    public static List<String> campos(String lista) {
+        if (lista == null || lista.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(lista.split(","))
+                .map(String::trim)
+                .filter(campo -> !campo.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,336 @@
+package com.groupName.artefactName.utiles;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta consultas filtradas con los predicados de {@link FilterTypeInferer} usando parámetros enlazados.
+ *
+ * La consulta Criteria se compila una sola vez por {@link FilterQueryShape} y se reutiliza con distintos
+ * valores: Hibernate reaprovecha su plan (hibernate.criteria.plan_cache_enabled) y la base de datos recibe
+ * siempre el mismo SQL, por lo que puede reutilizar el prepared statement.
+ */
+@Component
+@RequiredArgsConstructor
+public class FilterQueryExecutor {
+
+    static final int MAX_CACHED_SHAPES = 512;
+    static final String COUNT_SELECTION = "count";
+    static final String VERSION_SELECTION = "version";
+    static final String MAX_ID_SELECTION = "maxId";
+    public static final String KEYSET_SELECTION = "keysetId";
+    static final String AFTER_PARAMETER = "after";
+    static final String ID_PARAMETER = "id";
+
+    private final FilterTypeInferer filterTypeInferer;
+
+    // Acotada con expulsión: las formas dependen de sort y fields, que elige el cliente
+    private final Cache<FilterQueryShape, CriteriaQuery<?>> planCache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_SHAPES)
+            .build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Datos de referencia: sus consultas filtradas se sirven desde la caché de consultas de Hibernate,
+    // que se invalida sola cuando se escribe en las tablas implicadas
+    @Value("${filter.query-cache.entities:}")
+    private Set<String> queryCacheEntities = Set.of();
+
+    // Columnas de última modificación que hacen de versión en las entidades sin @Version
+    @Value("${etag.last-modified-attributes:updatedAt,lastModified,fechaModificacion}")
+    private List<String> lastModifiedAttributes = List.of();
+
+    @Transactional(readOnly = true)
+    public <T> List<T> findAll(Class<T> entityClass, Map<String, ?> filtros, Sort sort) {
+        return createQuery(entityClass, filtros, sort).getResultList();
+    }
+
+    public <T> TypedQuery<T> createQuery(Class<T> entityClass, Map<String, ?> filtros, Sort sort) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        List<FilterCondition> condiciones = inferConditions(entityType, filtros);
+        CriteriaQuery<T> criteria = compiled(FilterQueryShape.of(entityClass, condiciones, sort),
+                () -> compile(entityClass, condiciones, sort));
+        TypedQuery<T> query = entityManager.createQuery(criteria);
+        bind(query, condiciones);
+        if (queryCacheEntities.contains(entityType.getName())) {
+            query.setHint(HibernateHints.HINT_CACHEABLE, true);
+        }
+        return query;
+    }
+
+    /**
+     * Consulta de solo lectura que selecciona únicamente los atributos indicados, sin instanciar entidades.
+     */
+    public TypedQuery<Tuple> createTupleQuery(Class<?> entityClass, List<String> atributos, Map<String, ?> filtros, Sort sort) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        List<FilterCondition> condiciones = inferConditions(entityType, filtros);
+        CriteriaQuery<Tuple> criteria = compiled(FilterQueryShape.of(entityClass, String.join(",", atributos), condiciones, sort),
+                () -> compileTuple(entityClass, atributos, condiciones, sort));
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        bind(query, condiciones);
+        return query;
+    }
+
+    /**
+     * {@code select count(*)} con los mismos predicados que la consulta filtrada.
+     */
+    public TypedQuery<Long> createCountQuery(Class<?> entityClass, Map<String, ?> filtros) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        List<FilterCondition> condiciones = inferConditions(entityType, filtros);
+        CriteriaQuery<Long> criteria = compiled(FilterQueryShape.of(entityClass, COUNT_SELECTION, condiciones, Sort.unsorted()),
+                () -> compileCount(entityClass, condiciones));
+        TypedQuery<Long> query = entityManager.createQuery(criteria);
+        bind(query, condiciones);
+        return query;
+    }
+
+    /**
+     * {@code select max(version), max(id), count(*)} de un único registro, con igualdad sobre el id (sin
+     * pasar por la inferencia de filtros, que convertiría un id de texto en un LIKE). count es 0 si el
+     * registro no existe.
+     * @return vacío si la entidad no tiene atributo @Version ni de última modificación.
+     */
+    public Optional<TypedQuery<Tuple>> createRecordVersionQuery(Class<?> entityClass, Object id) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        Optional<String> version = versionAttribute(entityType);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        String idAttribute = FilterTypeInferer.idAttributeName(entityType);
+        CriteriaQuery<Tuple> criteria = compiled(FilterQueryShape.of(entityClass, VERSION_SELECTION + ":" + ID_PARAMETER, List.of(), Sort.unsorted()),
+                () -> compileRecordVersion(entityClass, idAttribute, version.get()));
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        query.setParameter(ID_PARAMETER, entityType.getIdType().getJavaType().isInstance(id) ? id : convertId(entityType, idAttribute, String.valueOf(id)));
+        return Optional.of(query);
+    }
+
+    /**
+     * Siguiente bloque de una consulta filtrada recorrida por id (keyset): hasta {@code limite} filas
+     * con id mayor que {@code despuesDe}, en orden de id. Además de los atributos pedidos selecciona el
+     * id como {@link #KEYSET_SELECTION} para poder continuar desde la última fila sin OFFSET.
+     */
+    public TypedQuery<Tuple> createKeysetQuery(Class<?> entityClass, List<String> atributos, Map<String, ?> filtros, String despuesDe, int limite) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        List<FilterCondition> condiciones = inferConditions(entityType, filtros);
+        String id = FilterTypeInferer.idAttributeName(entityType);
+        boolean continuar = despuesDe != null;
+        CriteriaQuery<Tuple> criteria = compiled(FilterQueryShape.of(entityClass,
+                        KEYSET_SELECTION + (continuar ? ">" : "") + ":" + String.join(",", atributos), condiciones, Sort.by(id)),
+                () -> compileKeyset(entityClass, id, atributos, condiciones, continuar));
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        bind(query, condiciones);
+        if (continuar) {
+            query.setParameter(AFTER_PARAMETER, convertId(entityType, id, despuesDe));
+        }
+        return query.setMaxResults(limite);
+    }
+
+    public Optional<String> versionAttribute(EntityType<?> entityType) {
+        if (entityType.hasVersionAttribute()) {
+            return entityType.getSingularAttributes().stream()
+                    .filter(SingularAttribute::isVersion)
+                    .map(Attribute::getName)
+                    .findFirst();
+        }
+        List<String> basicos = basicAttributes(entityType.getJavaType());
+        return lastModifiedAttributes.stream().filter(basicos::contains).findFirst();
+    }
+
+    /**
+     * Resuelve el nombre JPA de una entidad recibido en la URL, sin distinguir mayúsculas.
+     */
+    public Class<?> resolveEntityClass(String nombre) {
+        return entityManager.getMetamodel().getEntities().stream()
+                .filter(entityType -> entityType.getName().equalsIgnoreCase(nombre))
+                .findFirst()
+                .<Class<?>>map(EntityType::getJavaType)
+                .orElseThrow(() -> new EntityNotFoundException("Unknown entity: " + nombre));
+    }
+
+    /**
+     * Atributos básicos (columnas propias) de la entidad: primero el id y después en orden alfabético.
+     */
+    public List<String> basicAttributes(Class<?> entityClass) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        return entityType.getSingularAttributes().stream()
+                .filter(atributo -> atributo.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                .sorted(Comparator.comparing((SingularAttribute<?, ?> atributo) -> !atributo.isId())
+                        .thenComparing(Attribute::getName))
+                .map(Attribute::getName)
+                .toList();
+    }
+
+    /**
+     * Comprueba que los campos pedidos son atributos básicos de la entidad, para que la proyección
+     * solo seleccione columnas y nunca entidades asociadas.
+     */
+    public List<String> validateFields(Class<?> entityClass, List<String> campos) {
+        List<String> basicos = basicAttributes(entityClass);
+        for (String campo : campos) {
+            if (!basicos.contains(campo)) {
+                throw new BusinessLogicException("Unknown or non-basic field: " + campo);
+            }
+        }
+        return campos;
+    }
+
+    /**
+     * Convierte el mapa de filtros en condiciones ordenadas por atributo, para que la forma no dependa
+     * del orden de los parámetros de la petición.
+     */
+    public List<FilterCondition> inferConditions(EntityType<?> entityType, Map<String, ?> filtros) {
+        List<FilterCondition> condiciones = new ArrayList<>();
+        new TreeMap<>(filtros).forEach((atributo, valor) -> {
+            FilterCondition condicion;
+            try {
+                condicion = filterTypeInferer.inferCondition(entityType, atributo, valor);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessLogicException("Unknown filter attribute: " + atributo);
+            }
+            if (condicion == null) {
+                throw new BusinessLogicException("Invalid filter value for attribute: " + atributo);
+            }
+            condiciones.add(condicion);
+        });
+        return condiciones;
+    }
+
+    public Predicate[] toPredicates(CriteriaBuilder criteriaBuilder, Root<?> root, List<FilterCondition> condiciones) {
+        Predicate[] predicates = new Predicate[condiciones.size()];
+        for (int i = 0; i < condiciones.size(); i++) {
+            FilterCondition condicion = condiciones.get(i);
+            predicates[i] = filterTypeInferer.toPredicate(criteriaBuilder, root, condicion,
+                    condicion.operator().isParameterized() ? criteriaBuilder.parameter(condicion.parameterType(), parameterName(i)) : null);
+        }
+        return predicates;
+    }
+
+    public void bind(Query query, List<FilterCondition> condiciones) {
+        for (int i = 0; i < condiciones.size(); i++) {
+            FilterCondition condicion = condiciones.get(i);
+            if (condicion.operator().isParameterized()) {
+                query.setParameter(parameterName(i), condicion.value());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <Q extends CriteriaQuery<?>> Q compiled(FilterQueryShape shape, Supplier<Q> compiler) {
+        return (Q) planCache.get(shape, forma -> compiler.get());
+    }
+
+    private <T> CriteriaQuery<T> compile(Class<T> entityClass, List<FilterCondition> condiciones, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = criteriaBuilder.createQuery(entityClass);
+        Root<T> root = criteria.from(entityClass);
+        criteria.select(root)
+                .where(toPredicates(criteriaBuilder, root, condiciones))
+                .orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return criteria;
+    }
+
+    private CriteriaQuery<Long> compileCount(Class<?> entityClass, List<FilterCondition> condiciones) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = criteriaBuilder.createQuery(Long.class);
+        Root<?> root = criteria.from(entityClass);
+        criteria.select(criteriaBuilder.count(root))
+                .where(toPredicates(criteriaBuilder, root, condiciones));
+        return criteria;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CriteriaQuery<Tuple> compileRecordVersion(Class<?> entityClass, String id, String version) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = criteriaBuilder.createTupleQuery();
+        Root<?> root = criteria.from(entityClass);
+        Expression idPath = root.get(id);
+        criteria.multiselect(greatest(criteriaBuilder, root, version).alias(VERSION_SELECTION),
+                        greatest(criteriaBuilder, root, id).alias(MAX_ID_SELECTION),
+                        criteriaBuilder.count(root).alias(COUNT_SELECTION))
+                .where(criteriaBuilder.equal(idPath, criteriaBuilder.parameter(idPath.getJavaType(), ID_PARAMETER)));
+        return criteria;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CriteriaQuery<Tuple> compileKeyset(Class<?> entityClass, String id, List<String> atributos, List<FilterCondition> condiciones, boolean continuar) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = criteriaBuilder.createTupleQuery();
+        Root<?> root = criteria.from(entityClass);
+        List<Selection<?>> selecciones = new ArrayList<>();
+        atributos.forEach(atributo -> selecciones.add(root.get(atributo).alias(atributo)));
+        selecciones.add(root.get(id).alias(KEYSET_SELECTION));
+        List<Predicate> predicados = new ArrayList<>(List.of(toPredicates(criteriaBuilder, root, condiciones)));
+        if (continuar) {
+            Expression idPath = root.get(id);
+            predicados.add(criteriaBuilder.greaterThan(idPath, (Expression) criteriaBuilder.parameter(idPath.getJavaType(), AFTER_PARAMETER)));
+        }
+        criteria.multiselect(selecciones)
+                .where(predicados.toArray(Predicate[]::new))
+                .orderBy(criteriaBuilder.asc(root.get(id)));
+        return criteria;
+    }
+
+    // El id llega como texto (guardado entre bloques): se convierte al tipo del atributo
+    private Object convertId(EntityType<?> entityType, String id, String valor) {
+        if (String.class.equals(entityType.getIdType().getJavaType())) {
+            return valor;
+        }
+        FilterCondition condicion = filterTypeInferer.inferCondition(entityType, id, valor);
+        if (condicion == null) {
+            throw new BusinessLogicException("Invalid id value: " + valor);
+        }
+        return condicion.value();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Expression<?> greatest(CriteriaBuilder criteriaBuilder, Root<?> root, String atributo) {
+        return criteriaBuilder.greatest((Expression) root.get(atributo));
+    }
+
+    private CriteriaQuery<Tuple> compileTuple(Class<?> entityClass, List<String> atributos, List<FilterCondition> condiciones, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = criteriaBuilder.createTupleQuery();
+        Root<?> root = criteria.from(entityClass);
+        criteria.multiselect(atributos.stream().<Selection<?>>map(atributo -> root.get(atributo).alias(atributo)).toList())
+                .where(toPredicates(criteriaBuilder, root, condiciones))
+                .orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return criteria;
+    }
+
+    static String parameterName(int index) {
+        return "p" + index;
+    }
+}
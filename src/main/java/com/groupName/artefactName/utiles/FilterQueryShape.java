@@ -0,0 +1,26 @@
+package com.groupName.artefactName.utiles;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Forma canónica de una consulta filtrada: entidad, selección, atributos con su operador y orden, sin valores.
+ * Es la clave de la caché de consultas compiladas de {@link FilterQueryExecutor}.
+ */
+public record FilterQueryShape(Class<?> entityClass, String selection, List<String> conditions, String sort) {
+
+    public static final String ENTITY_SELECTION = "entity";
+
+    public static FilterQueryShape of(Class<?> entityClass, List<FilterCondition> conditions, Sort sort) {
+        return of(entityClass, ENTITY_SELECTION, conditions, sort);
+    }
+
+    public static FilterQueryShape of(Class<?> entityClass, String selection, List<FilterCondition> conditions, Sort sort) {
+        return new FilterQueryShape(
+                entityClass,
+                selection,
+                conditions.stream().map(condition -> condition.attribute() + ":" + condition.operator()).toList(),
+                sort.toString());
+    }
+}
@@ -1,46 +1,227 @@
 package com.groupName.artefactName.utiles;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.groupName.artefactName.config.TextSearchProperties;
+import jakarta.persistence.Column;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.metamodel.EntityType;
 import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.AnnotatedElement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Component
+@RequiredArgsConstructor
 public class FilterTypeInferer {
 
+    private static final char LIKE_ESCAPE = '\\';
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final TextSearchProperties textSearchProperties;
+    private final DatabaseType databaseType;
+    private final H2FullTextIndex h2FullTextIndex;
+
     public Predicate inferPredicate(CriteriaBuilder criteriaBuilder, Root<?> root, String atributoNombre, Object valor, EntityType<?> entityType) {
+        FilterCondition condicion = inferCondition(entityType, atributoNombre, valor);
+        return condicion == null ? null : toPredicate(criteriaBuilder, root, condicion, null);
+    }
+
+    /**
+     * Valida el atributo contra el metamodelo y convierte el valor a su tipo.
+     * @return la condición, o null si el tipo no está soportado o el valor no es convertible.
+     */
+    public FilterCondition inferCondition(EntityType<?> entityType, String atributoNombre, Object valor) {
+        int punto = atributoNombre.indexOf('.');
+        if (punto > 0) {
+            // Ruta dentro de una columna JSON: metadata.address.city=Lima
+            SingularAttribute<?, ?> columna = entityType.getDeclaredSingularAttribute(atributoNombre.substring(0, punto));
+            if (!isJson(columna)) {
+                throw new IllegalArgumentException("Attribute is not a JSON column: " + columna.getName());
+            }
+            return inferJsonCondition(atributoNombre, atributoNombre.substring(punto + 1), valor);
+        }
         SingularAttribute<?, ?> atributo = entityType.getDeclaredSingularAttribute(atributoNombre);
+        if (isJson(atributo)) {
+            return inferJsonCondition(atributoNombre, null, valor);
+        }
         Class<?> atributoTipo = atributo.getJavaType();
 
         if (String.class.isAssignableFrom(atributoTipo) && valor instanceof String string) {
-            return criteriaBuilder.like(root.get(atributoNombre), "%" + string + "%");
+            return inferTextCondition(entityType, atributoNombre, string);
+        }
+        Object convertido = convert(atributoTipo, valor);
+        return convertido == null ? null : new FilterCondition(atributoNombre, FilterOperator.EQUAL, convertido);
+    }
+
+    /**
+     * Construye el predicado de una condición. Si se recibe un parámetro se usa en lugar del valor literal,
+     * de modo que la consulta compilada pueda reutilizarse con otros valores.
+     */
+    @SuppressWarnings("unchecked")
+    public Predicate toPredicate(CriteriaBuilder criteriaBuilder, Root<?> root, FilterCondition condicion, ParameterExpression<?> parametro) {
+        Expression<String> patron = (Expression<String>) parametro;
+        return switch (condicion.operator()) {
+            case EQUAL -> parametro == null
+                    ? criteriaBuilder.equal(root.get(condicion.attribute()), condicion.value())
+                    : criteriaBuilder.equal(root.get(condicion.attribute()), parametro);
+            case CONTAINS -> parametro == null
+                    ? criteriaBuilder.like(root.get(condicion.attribute()), (String) condicion.value())
+                    : criteriaBuilder.like(root.get(condicion.attribute()), patron);
+            case PREFIX -> parametro == null
+                    ? criteriaBuilder.like(root.get(condicion.attribute()), (String) condicion.value(), LIKE_ESCAPE)
+                    : criteriaBuilder.like(root.get(condicion.attribute()), patron, LIKE_ESCAPE);
+            case IGNORE_CASE_PREFIX -> parametro == null
+                    ? criteriaBuilder.like(criteriaBuilder.lower(root.get(condicion.attribute())), (String) condicion.value(), LIKE_ESCAPE)
+                    : criteriaBuilder.like(criteriaBuilder.lower(root.get(condicion.attribute())), patron, LIKE_ESCAPE);
+            case FULL_TEXT -> criteriaBuilder.isTrue(fullTextMatch(criteriaBuilder, root, condicion.attribute(),
+                    parametro == null ? criteriaBuilder.literal((String) condicion.value()) : patron));
+            case JSON_CONTAINS -> criteriaBuilder.isTrue(criteriaBuilder.function(
+                    FullTextFunctionContributor.JSON_CONTAINS_FUNCTION_NAME, Boolean.class,
+                    root.get(condicion.column()),
+                    parametro == null ? criteriaBuilder.literal((String) condicion.value()) : patron));
+            case MATCH_ALL -> criteriaBuilder.conjunction();
+        };
+    }
+
+    public TextSearchMode textSearchMode(EntityType<?> entityType, String atributoNombre) {
+        return textSearchProperties.modeFor(entityType.getName(), atributoNombre);
+    }
+
+    // En H2 el índice nativo se consulta con FT_SEARCH_DATA, que devuelve claves y no un predicado sobre la columna
+    private Expression<Boolean> fullTextMatch(CriteriaBuilder criteriaBuilder, Root<?> root, String atributo, Expression<String> texto) {
+        if (databaseType == DatabaseType.H2) {
+            return criteriaBuilder.function(FullTextFunctionContributor.FULL_TEXT_KEYS_FUNCTION_NAME, Boolean.class,
+                    root.get(idAttributeName(root.getModel())), texto,
+                    criteriaBuilder.literal(h2FullTextIndex.tableName(root.getModel())));
+        }
+        return criteriaBuilder.function(FullTextFunctionContributor.FULL_TEXT_FUNCTION_NAME, Boolean.class, root.get(atributo), texto);
+    }
+
+    private Object convert(Class<?> atributoTipo, Object valor) {
+        try {
+            if (Long.class.isAssignableFrom(atributoTipo)) {
+                return Long.parseLong((String) valor);
+            } else if (Integer.class.isAssignableFrom(atributoTipo)) {
+                return Integer.parseInt((String) valor);
+            } else if (Double.class.isAssignableFrom(atributoTipo)) {
+                return Double.parseDouble((String) valor);
+            } else if (Float.class.isAssignableFrom(atributoTipo)) {
+                return Float.parseFloat((String) valor);
+            } else if (Boolean.class.isAssignableFrom(atributoTipo)) {
+                return Boolean.parseBoolean((String) valor);
+            } else if (LocalDate.class.isAssignableFrom(atributoTipo)) {
+                return LocalDate.parse((String) valor);
+            } else if (LocalDateTime.class.isAssignableFrom(atributoTipo)) {
+                return LocalDateTime.parse((String) valor);
+            } else {
+                return null;
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private FilterCondition inferTextCondition(EntityType<?> entityType, String atributoNombre, String texto) {
+        return switch (textSearchMode(entityType, atributoNombre)) {
+            case PREFIX -> new FilterCondition(atributoNombre, FilterOperator.PREFIX, escapeLike(texto) + "%");
+            case IGNORE_CASE -> new FilterCondition(atributoNombre, FilterOperator.IGNORE_CASE_PREFIX, escapeLike(texto.toLowerCase(Locale.ROOT)) + "%");
+            case FULL_TEXT -> inferFullTextCondition(atributoNombre, texto);
+            case CONTAINS -> new FilterCondition(atributoNombre, FilterOperator.CONTAINS, "%" + texto + "%");
+        };
+    }
+
+    private FilterCondition inferFullTextCondition(String atributoNombre, String texto) {
+        if (texto.isBlank()) {
+            return new FilterCondition(atributoNombre, FilterOperator.MATCH_ALL, null);
+        }
+        return new FilterCondition(atributoNombre, FilterOperator.FULL_TEXT, texto);
+    }
+
+    /**
+     * Sin ruta, el valor debe ser un objeto o array JSON y se busca por contención ({@code @>}).
+     * Con ruta, la igualdad se expresa también como contención ({"address":{"city":"Lima"}}) para que
+     * PostgreSQL pueda usar un índice GIN. Los valores que son literales JSON válidos (42, true) se comparan
+     * como tales; entre comillas ("42") se comparan como texto.
+     */
+    private FilterCondition inferJsonCondition(String atributoNombre, String ruta, Object valor) {
+        if (!(valor instanceof String texto)) {
+            return null;
+        }
+        JsonNode fragmento;
+        if (ruta == null) {
+            fragmento = readJson(texto);
+            if (fragmento == null || !fragmento.isContainerNode()) {
+                return null;
+            }
         } else {
-            try {
-                if (Long.class.isAssignableFrom(atributoTipo)) {
-                    return criteriaBuilder.equal(root.get(atributoNombre), Long.parseLong((String) valor));
-                } else if (Integer.class.isAssignableFrom(atributoTipo)) {
-                    return criteriaBuilder.equal(root.get(atributoNombre), Integer.parseInt((String) valor));
-                } else if (Double.class.isAssignableFrom(atributoTipo)) {
-                    return criteriaBuilder.equal(root.get(atributoNombre), Double.parseDouble((String) valor));
-                } else if (Float.class.isAssignableFrom(atributoTipo)) {
-                    return criteriaBuilder.equal(root.get(atributoNombre), Float.parseFloat((String) valor));
-                } else if (Boolean.class.isAssignableFrom(atributoTipo)) {
-                    return criteriaBuilder.equal(root.get(atributoNombre), Boolean.parseBoolean((String) valor));
-                } else if (LocalDate.class.isAssignableFrom(atributoTipo)) {
-                    return criteriaBuilder.equal(root.get(atributoNombre), LocalDate.parse((String) valor));
-                } else if (LocalDateTime.class.isAssignableFrom(atributoTipo)) {
-                    return criteriaBuilder.equal(root.get(atributoNombre), LocalDateTime.parse((String) valor));
-                } else {
+            JsonNode hoja = readJson(texto);
+            fragmento = hoja == null ? TextNode.valueOf(texto) : hoja;
+            String[] segmentos = ruta.split("\\.");
+            for (int i = segmentos.length - 1; i >= 0; i--) {
+                if (segmentos[i].isEmpty()) {
                     return null;
                 }
-            } catch (Exception e) {
-                return null;
+                ObjectNode nivel = JSON.createObjectNode();
+                nivel.set(segmentos[i], fragmento);
+                fragmento = nivel;
+            }
+        }
+        return new FilterCondition(atributoNombre, FilterOperator.JSON_CONTAINS, fragmento.toString());
+    }
+
+    private static JsonNode readJson(String texto) {
+        try {
+            return JSON.readTree(texto);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Columna JSON: anotada con @JdbcTypeCode(SqlTypes.JSON), declarada como json/jsonb o mapeada a JsonNode.
+     */
+    static boolean isJson(SingularAttribute<?, ?> atributo) {
+        if (JsonNode.class.isAssignableFrom(atributo.getJavaType())) {
+            return true;
+        }
+        if (!(atributo.getJavaMember() instanceof AnnotatedElement miembro)) {
+            return false;
+        }
+        JdbcTypeCode jdbcTypeCode = miembro.getAnnotation(JdbcTypeCode.class);
+        if (jdbcTypeCode != null && jdbcTypeCode.value() == SqlTypes.JSON) {
+            return true;
+        }
+        Column column = miembro.getAnnotation(Column.class);
+        return column != null && column.columnDefinition().toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    static String idAttributeName(EntityType<?> entityType) {
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    static String escapeLike(String texto) {
+        StringBuilder escaped = new StringBuilder(texto.length() + 4);
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
             }
+            escaped.append(c);
         }
+        return escaped.toString();
     }
 }
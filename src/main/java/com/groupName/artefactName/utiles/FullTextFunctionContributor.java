@@ -0,0 +1,69 @@
+package com.groupName.artefactName.utiles;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra las funciones de búsqueda traducidas al operador nativo del dialecto activo.
+ * Se carga mediante META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ *
+ * {@code fts_match(columna, texto)}:
+ * PostgreSQL: indexable con {@code CREATE INDEX ... USING gin (to_tsvector('simple', columna))}.
+ * MySQL: requiere un índice FULLTEXT sobre la columna.
+ * Resto: contiene sin distinguir mayúsculas. En H2 {@link FilterTypeInferer} usa {@code fts_match_keys}.
+ *
+ * {@code fts_match_keys(id, texto, tabla)}, solo H2: el id está entre las claves que devuelve
+ * {@code FT_SEARCH_DATA} para la tabla, con el índice nativo que crea {@link H2FullTextIndex}.
+ *
+ * {@code json_contains_fragment(columna, fragmento)}:
+ * PostgreSQL: {@code @>} sobre la columna convertida a jsonb, así que admite columnas json y jsonb; en
+ * jsonb la conversión desaparece y sigue siendo indexable con {@code CREATE INDEX ... USING gin (columna jsonb_path_ops)}.
+ * MySQL: JSON_CONTAINS nativo. H2: alias JSON_CONTAINS de init.sql ({@link H2JsonFunctions}).
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String FULL_TEXT_FUNCTION_NAME = "fts_match";
+    public static final String FULL_TEXT_KEYS_FUNCTION_NAME = "fts_match_keys";
+    public static final String JSON_CONTAINS_FUNCTION_NAME = "json_contains_fragment";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        functionContributions.getFunctionRegistry()
+                .registerPattern(FULL_TEXT_FUNCTION_NAME, fullTextPattern(functionContributions.getDialect()), booleanType);
+        functionContributions.getFunctionRegistry()
+                .registerPattern(JSON_CONTAINS_FUNCTION_NAME, jsonContainsPattern(functionContributions.getDialect()), booleanType);
+        if (functionContributions.getDialect() instanceof H2Dialect) {
+            // KEYS es un array con el valor de la clave primaria (de una sola columna) como texto
+            functionContributions.getFunctionRegistry()
+                    .registerPattern(FULL_TEXT_KEYS_FUNCTION_NAME,
+                            "(?1 in (select ft.KEYS[1] from FT_SEARCH_DATA(?2, 0, 0) ft where ft.\"TABLE\" = ?3))", booleanType);
+        }
+    }
+
+    static String jsonContainsPattern(Dialect dialect) {
+        if (dialect instanceof PostgreSQLDialect) {
+            return "(cast(?1 as jsonb) @> cast(?2 as jsonb))";
+        } else if (dialect instanceof MySQLDialect) {
+            return "(json_contains(?1, ?2) = 1)";
+        }
+        return "(JSON_CONTAINS(?1, ?2) = true)";
+    }
+
+    static String fullTextPattern(Dialect dialect) {
+        if (dialect instanceof PostgreSQLDialect) {
+            return "(to_tsvector('simple', ?1) @@ plainto_tsquery('simple', ?2))";
+        } else if (dialect instanceof MySQLDialect) {
+            return "(match(?1) against (?2 in natural language mode) > 0)";
+        }
+        return "(lower(?1) like concat('%', lower(?2), '%'))";
+    }
+}
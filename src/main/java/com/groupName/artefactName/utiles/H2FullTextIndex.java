@@ -0,0 +1,110 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.TextSearchProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índices de texto completo nativos de H2 ({@code org.h2.fulltext.FullText}, inicializado con FT_INIT
+ * en init.sql) para los atributos configurados como FULL_TEXT.
+ *
+ * H2 mantiene el índice con triggers dentro de la misma transacción y la búsqueda
+ * ({@code FT_SEARCH_DATA}) recorre su índice de palabras, así que el coste depende del número de
+ * coincidencias y no del tamaño de la tabla. H2 admite un único índice por tabla: si varios atributos
+ * de una entidad son FULL_TEXT comparten índice y una búsqueda sobre uno encuentra también las
+ * palabras de los demás. Solo coinciden palabras completas (sin prefijos).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class H2FullTextIndex {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final DatabaseType databaseType;
+    private final TextSearchProperties textSearchProperties;
+
+    // entidad -> nombre de la tabla tal como lo guarda FT.INDEXES (y devuelve FT_SEARCH_DATA)
+    private final Map<String, String> tablas = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void createIndexes() {
+        if (databaseType != DatabaseType.H2 || !textSearchProperties.usesFullText()) {
+            return;
+        }
+        // Se ejecuta tras crear el esquema: el EntityManagerFactory ya está inicializado
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel()
+                    .getEntityDescriptor(entityType.getJavaType());
+            List<String> columnas = new ArrayList<>();
+            for (Attribute<?, ?> atributo : entityType.getAttributes()) {
+                if (String.class.equals(atributo.getJavaType())
+                        && textSearchProperties.modeFor(entityType.getName(), atributo.getName()) == TextSearchMode.FULL_TEXT) {
+                    columnas.add(persister.getPropertyColumnNames(atributo.getName())[0]);
+                }
+            }
+            if (!columnas.isEmpty()) {
+                tablas.put(entityType.getName(), createIndex(jdbcTemplate, unqualified(persister.getTableName()), columnas));
+            }
+        }
+    }
+
+    /**
+     * Tabla indexada de la entidad, para filtrar el resultado de FT_SEARCH_DATA.
+     */
+    public String tableName(EntityType<?> entityType) {
+        String tabla = tablas.get(entityType.getName());
+        if (tabla == null) {
+            throw new IllegalStateException("No H2 full-text index for entity " + entityType.getName());
+        }
+        return tabla;
+    }
+
+    private String createIndex(JdbcTemplate jdbcTemplate, String tabla, List<String> columnas) {
+        // Nombres reales (H2 guarda en mayúsculas los identificadores sin comillas)
+        Map<String, Object> fila = jdbcTemplate.queryForMap("SELECT TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES"
+                + " WHERE UPPER(TABLE_NAME) = UPPER(?) AND TABLE_SCHEMA <> 'INFORMATION_SCHEMA'", tabla);
+        String esquema = (String) fila.get("TABLE_SCHEMA");
+        String nombre = (String) fila.get("TABLE_NAME");
+        Map<String, String> reales = new LinkedHashMap<>();
+        for (String columna : columnas) {
+            reales.put(columna, jdbcTemplate.queryForObject("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS"
+                    + " WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND UPPER(COLUMN_NAME) = UPPER(?)", String.class, esquema, nombre, columna));
+        }
+        String lista = String.join(",", reales.values());
+        List<String> existentes = jdbcTemplate.queryForList("SELECT COLUMNS FROM FT.INDEXES WHERE SCHEMA = ? AND \"TABLE\" = ?",
+                String.class, esquema, nombre);
+        if (existentes.contains(lista)) {
+            return nombre;
+        }
+        if (!existentes.isEmpty()) {
+            jdbcTemplate.update("CALL FT_DROP_INDEX(?, ?)", esquema, nombre);
+        }
+        // Indexa también las filas ya existentes
+        jdbcTemplate.update("CALL FT_CREATE_INDEX(?, ?, ?)", esquema, nombre, lista);
+        log.info("H2 full-text index created on {}.{} ({})", esquema, nombre, lista);
+        return nombre;
+    }
+
+    private static String unqualified(String tabla) {
+        String nombre = tabla.substring(tabla.lastIndexOf('.') + 1);
+        return nombre.replace("\"", "").replace("`", "");
+    }
+}
@@ -0,0 +1,73 @@
+package com.groupName.artefactName.utiles;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Funciones JSON para H2, que no tiene operadores de contención. Se registran en init.sql con
+ * CREATE ALIAS y replican la semántica del operador {@code @>} de PostgreSQL.
+ */
+public final class H2JsonFunctions {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private H2JsonFunctions() {
+    }
+
+    public static Boolean contains(String documento, String fragmento) {
+        if (documento == null || fragmento == null) {
+            return null;
+        }
+        try {
+            return contains(MAPPER.readTree(documento), MAPPER.readTree(fragmento));
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    static boolean contains(JsonNode documento, JsonNode fragmento) {
+        if (fragmento.isObject()) {
+            if (!documento.isObject()) {
+                return false;
+            }
+            Iterator<Map.Entry<String, JsonNode>> campos = fragmento.fields();
+            while (campos.hasNext()) {
+                Map.Entry<String, JsonNode> campo = campos.next();
+                JsonNode valor = documento.get(campo.getKey());
+                if (valor == null || !contains(valor, campo.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (fragmento.isArray()) {
+            if (!documento.isArray()) {
+                return false;
+            }
+            for (JsonNode buscado : fragmento) {
+                if (!anyContains(documento, buscado)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // Como en PostgreSQL, un array de primitivos contiene a un escalar
+        if (documento.isArray()) {
+            return anyContains(documento, fragmento);
+        }
+        return documento.equals(fragmento);
+    }
+
+    private static boolean anyContains(JsonNode array, JsonNode buscado) {
+        for (JsonNode elemento : array) {
+            if (contains(elemento, buscado)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.groupName.artefactName.utiles;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Almacén de respuestas por clave de idempotencia.
+ *
+ * El primero que reserva una clave la ejecuta; mientras tanto, los duplicados la ven en curso y
+ * pueden esperar su resultado. Al terminar se guarda la respuesta (complete) o se libera la
+ * clave para que un reintento vuelva a ejecutarla (release).
+ */
+public interface IdempotencyStore {
+
+    Reservation reserve(String key, String fingerprint);
+
+    /**
+     * Espera a que termine la ejecución en curso.
+     * @return la respuesta guardada, o vacío si se liberó la clave o se agotó el tiempo.
+     */
+    Optional<StoredResponse> await(String key, Duration timeout) throws InterruptedException;
+
+    void complete(String key, StoredResponse response);
+
+    void release(String key);
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    record Reservation(State state, String fingerprint, StoredResponse response) {
+
+        public enum State {
+            ACQUIRED,
+            IN_PROGRESS,
+            COMPLETED
+        }
+
+        public static Reservation acquired(String fingerprint) {
+            return new Reservation(State.ACQUIRED, fingerprint, null);
+        }
+
+        public static Reservation inProgress(String fingerprint) {
+            return new Reservation(State.IN_PROGRESS, fingerprint, null);
+        }
+
+        public static Reservation completed(String fingerprint, StoredResponse response) {
+            return new Reservation(State.COMPLETED, fingerprint, response);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.groupName.artefactName.utiles;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Almacén de idempotencia en memoria, para un solo nodo. Cada clave lleva un future que los
+ * duplicados concurrentes esperan; el número de claves está acotado y las caducadas se purgan al
+ * llenarse.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long lockTimeoutMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    public InMemoryIdempotencyStore(Duration ttl, Duration lockTimeout, int maxEntries) {
+        this(ttl, lockTimeout, maxEntries, System::currentTimeMillis);
+    }
+
+    InMemoryIdempotencyStore(Duration ttl, Duration lockTimeout, int maxEntries, LongSupplier clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.lockTimeoutMillis = lockTimeout.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Reservation reserve(String key, String fingerprint) {
+        while (true) {
+            long ahora = clock.getAsLong();
+            Entry nueva = new Entry(fingerprint, ahora + lockTimeoutMillis);
+            Entry actual = entries.putIfAbsent(key, nueva);
+            if (actual == null) {
+                if (entries.size() > maxEntries) {
+                    evict(ahora);
+                }
+                return Reservation.acquired(fingerprint);
+            }
+            if (actual.expiresAt <= ahora) {
+                entries.remove(key, actual);
+                continue;
+            }
+            StoredResponse respuesta = actual.result.getNow(null);
+            return respuesta == null
+                    ? Reservation.inProgress(actual.fingerprint)
+                    : Reservation.completed(actual.fingerprint, respuesta);
+        }
+    }
+
+    @Override
+    public Optional<StoredResponse> await(String key, Duration timeout) throws InterruptedException {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(entry.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | ExecutionException ex) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.result.complete(response)) {
+            entry.expiresAt = clock.getAsLong() + ttlMillis;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.result.isDone()) {
+            entries.remove(key, entry);
+            // Despierta a los que esperan: verán la clave libre y podrán ejecutarla
+            entry.result.complete(null);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long ahora) {
+        entries.values().removeIf(entry -> entry.expiresAt <= ahora);
+        int sobrantes = entries.size() - maxEntries;
+        if (sobrantes <= 0) {
+            return;
+        }
+        // Siguen llenas: se descartan las respuestas guardadas que caducan antes (las en curso se conservan)
+        entries.entrySet().stream()
+                .filter(e -> e.getValue().result.isDone())
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                .limit(sobrantes)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        private volatile long expiresAt;
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.groupName.artefactName.utiles;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Almacén de idempotencia en la base de datos relacional, compartido por todos los nodos.
+ *
+ * La reserva es un INSERT sobre la clave primaria: solo uno de los nodos lo consigue y los demás
+ * ven la fila en curso. Como no hay notificación entre nodos, la espera consulta la fila
+ * periódicamente. Las fechas se guardan como epoch millis para no depender de la zona horaria de
+ * cada motor. La tabla la crea init.sql (o la migración del motor de producción).
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    static final String TABLE = "idempotency_key";
+    private static final long POLL_MILLIS = 100;
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final long lockTimeoutMillis;
+    private final LongSupplier clock;
+    private final AtomicLong ultimaPurga = new AtomicLong();
+
+    public JdbcIdempotencyStore(DataSource dataSource, Duration ttl, Duration lockTimeout) {
+        this(dataSource, ttl, lockTimeout, System::currentTimeMillis);
+    }
+
+    JdbcIdempotencyStore(DataSource dataSource, Duration ttl, Duration lockTimeout, LongSupplier clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ttlMillis = ttl.toMillis();
+        this.lockTimeoutMillis = lockTimeout.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public Reservation reserve(String key, String fingerprint) {
+        long ahora = clock.getAsLong();
+        purgeExpired(ahora);
+        while (true) {
+            jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id = ? AND expires_at <= ?", key, ahora);
+            try {
+                jdbcTemplate.update("INSERT INTO " + TABLE + " (id, fingerprint, completed, expires_at) VALUES (?, ?, ?, ?)",
+                        key, fingerprint, false, ahora + lockTimeoutMillis);
+                return Reservation.acquired(fingerprint);
+            } catch (DuplicateKeyException ex) {
+                Optional<Reservation> existente = find(key);
+                if (existente.isPresent()) {
+                    return existente.get();
+                }
+                // Se liberó entre el INSERT y la consulta: se vuelve a intentar
+            }
+        }
+    }
+
+    @Override
+    public Optional<StoredResponse> await(String key, Duration timeout) throws InterruptedException {
+        long limite = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Optional<Reservation> actual = find(key);
+            if (actual.isEmpty()) {
+                return Optional.empty();
+            }
+            if (actual.get().state() == Reservation.State.COMPLETED) {
+                return Optional.of(actual.get().response());
+            }
+            long restante = limite - System.nanoTime();
+            if (restante <= 0) {
+                return Optional.empty();
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(restante, TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS)));
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update("UPDATE " + TABLE + " SET completed = ?, status = ?, content_type = ?, body = ?, expires_at = ? WHERE id = ? AND completed = ?",
+                true, response.status(), response.contentType(), response.body(), clock.getAsLong() + ttlMillis, key, false);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id = ? AND completed = ?", key, false);
+    }
+
+    private Optional<Reservation> find(String key) {
+        RowMapper<Reservation> mapper = (rs, fila) -> rs.getBoolean("completed")
+                ? Reservation.completed(rs.getString("fingerprint"),
+                        new StoredResponse(rs.getInt("status"), rs.getString("content_type"), rs.getBytes("body")))
+                : Reservation.inProgress(rs.getString("fingerprint"));
+        List<Reservation> filas = jdbcTemplate.query("SELECT fingerprint, completed, status, content_type, body FROM " + TABLE
+                + " WHERE id = ? AND expires_at > ?", mapper, key, clock.getAsLong());
+        return filas.stream().findFirst();
+    }
+
+    // Una vez por minuto, desde el nodo que pase primero por aquí
+    private void purgeExpired(long ahora) {
+        long anterior = ultimaPurga.get();
+        if (ahora - anterior >= PURGE_INTERVAL_MILLIS && ultimaPurga.compareAndSet(anterior, ahora)) {
+            jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE expires_at <= ?", ahora);
+        }
+    }
+}
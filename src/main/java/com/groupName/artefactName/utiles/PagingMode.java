@@ -0,0 +1,40 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+
+import java.util.Locale;
+
+/**
+ * Cómo obtiene {@link FilterPager} el total de una página filtrada.
+ */
+public enum PagingMode {
+
+    /**
+     * {@code select count(*)} con los mismos predicados en cada página.
+     */
+    EXACT,
+
+    /**
+     * Sin total: se piden size + 1 filas para saber si existe una página siguiente.
+     */
+    HAS_NEXT,
+
+    /**
+     * Total exacto reutilizado durante un TTL corto para la misma forma y valores.
+     */
+    CACHED,
+
+    /**
+     * Estimación de las estadísticas del motor sin filtros (pg_class.reltuples, information_schema);
+     * con filtros se comporta como CACHED.
+     */
+    APPROXIMATE;
+
+    public static PagingMode from(String modo) {
+        try {
+            return valueOf(modo.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessLogicException("Unsupported paging mode: " + modo);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.groupName.artefactName.utiles;
+
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * COPY FROM STDIN del driver de PostgreSQL. Es la única clase que usa su API: SeedLoader solo la
+ * carga con una base PostgreSQL, así que con H2 o MySQL el driver no hace falta en ejecución.
+ */
+final class PostgresCopy {
+
+    private PostgresCopy() {
+    }
+
+    static long copyIn(Connection connection, String sql, Reader reader) throws SQLException, IOException {
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, reader);
+    }
+}
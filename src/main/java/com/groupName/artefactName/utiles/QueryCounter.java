@@ -0,0 +1,39 @@
+package com.groupName.artefactName.utiles;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual entre {@link #start()} y {@link #stop()}.
+ *
+ * Se registra como hibernate.session_factory.statement_inspector (ver PersistenceConfig) y lo usa
+ * QueryCountFilter para detectar N+1 por petición. En tests puede usarse directamente:
+ * QueryCounter.start(); ...; assertTrue(QueryCounter.stop() <= 3);
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new int[1]);
+    }
+
+    public static int current() {
+        int[] counter = CURRENT.get();
+        return counter == null ? 0 : counter[0];
+    }
+
+    public static int stop() {
+        int count = current();
+        CURRENT.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = CURRENT.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+}
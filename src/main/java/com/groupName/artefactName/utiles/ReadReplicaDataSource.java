@@ -0,0 +1,124 @@
+package com.groupName.artefactName.utiles;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conjunto de réplicas de solo lectura repartidas en round-robin.
+ *
+ * Una réplica que falla al entregar una conexión se marca como caída y deja de recibir tráfico
+ * hasta que la comprobación periódica la vuelve a validar. Si no queda ninguna disponible, la
+ * conexión se pide al primario, de modo que las lecturas nunca fallan por culpa de las réplicas.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadReplicaDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        if (healthCheckInterval == null || healthCheckInterval.isZero() || healthCheckInterval.isNegative()) {
+            this.healthChecker = null;
+            return;
+        }
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "read-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(username, password);
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean valida;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                valida = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException ex) {
+                valida = false;
+            }
+            if (valida && !replica.healthy) {
+                log.info("Read replica {} is back in rotation", replica.name());
+            } else if (!valida && replica.healthy) {
+                log.warn("Read replica {} failed its health check", replica.name());
+            }
+            replica.healthy = valida;
+        }
+    }
+
+    public long healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection connect(String username, String password) throws SQLException {
+        int total = replicas.size();
+        for (int intento = 0; intento < total; intento++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), total));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return username == null
+                        ? replica.dataSource.getConnection()
+                        : replica.dataSource.getConnection(username, password);
+            } catch (SQLException ex) {
+                replica.healthy = false;
+                log.warn("Read replica {} taken out of rotation: {}", replica.name(), ex.getMessage());
+            }
+        }
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.toString();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.DeadlineExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plazo máximo de la petición en curso, asociado al hilo que la atiende.
+ *
+ * Lo abre DeadlineFilter y lo aplica DeadlineQueryListener como query timeout de cada sentencia
+ * JDBC. Las sentencias en ejecución quedan registradas para poder cancelarlas con {@link #cancel()}
+ * cuando el cliente se desconecta. Para MongoDB: {@code mongoTemplate.find(RequestDeadline.applyTo(query), ...)}.
+ */
+@Slf4j
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+    private final long deadlineNanos;
+    private final Set<Statement> activeStatements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private RequestDeadline(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public static RequestDeadline start(Duration timeout) {
+        RequestDeadline deadline = new RequestDeadline(timeout);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    // Traslada el plazo a los hilos que continúan la petición (respuestas asíncronas en streaming)
+    public static Runnable propagate(Runnable tarea) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return tarea;
+        }
+        return () -> {
+            RequestDeadline anterior = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                tarea.run();
+            } finally {
+                if (anterior == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(anterior);
+                }
+            }
+        };
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static Query applyTo(Query query) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check();
+            query.maxTime(deadline.remaining());
+        }
+        return query;
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return cancelled || System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public void check() {
+        if (cancelled) {
+            throw new DeadlineExceededException("Request cancelled by the client");
+        }
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline of " + timeout.toMillis() + " ms exceeded");
+        }
+    }
+
+    // JDBC solo admite segundos enteros; se redondea hacia arriba para no cortar antes del plazo
+    public int queryTimeoutSeconds() {
+        long nanos = remaining().toNanos();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (nanos + 999_999_999L) / 1_000_000_000L));
+    }
+
+    public void register(Statement statement) {
+        activeStatements.add(statement);
+    }
+
+    public void unregister(Statement statement) {
+        activeStatements.remove(statement);
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (Statement statement : activeStatements) {
+            try {
+                statement.cancel();
+            } catch (SQLException ex) {
+                log.debug("Could not cancel statement", ex);
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,382 @@
+package com.groupName.artefactName.utiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupName.artefactName.config.SeedProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Carga los datos semilla por la ruta masiva de cada base: {@code CSVREAD} en H2, {@code COPY} en
+ * PostgreSQL e inserciones en batch en el resto (en MySQL conviene {@code rewriteBatchedStatements=true}).
+ *
+ * Las tablas se ordenan por niveles según sus claves foráneas y las de un mismo nivel se cargan en
+ * paralelo, cada una en su propia transacción. Mientras dura la carga el indicador de salud devuelve
+ * OUT_OF_SERVICE, de modo que el grupo readiness no acepta tráfico hasta que los datos están listos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeedLoader implements ApplicationRunner, HealthIndicator {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final DataSource dataSource;
+    private final DatabaseType databaseType;
+    private final SeedProperties seedProperties;
+    private final ResourcePatternResolver resourcePatternResolver;
+    private final ObjectMapper objectMapper;
+
+    private volatile Health estado = Health.up().withDetail("seed", "disabled").build();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!seedProperties.isEnabled()) {
+            return;
+        }
+        estado = Health.outOfService().withDetail("seed", "loading").build();
+        if (!seedProperties.isBackground()) {
+            load();
+            return;
+        }
+        Thread thread = new Thread(this::load, "seed-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        return estado;
+    }
+
+    public void load() {
+        long inicio = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, seedProperties.getParallelism()));
+        try {
+            Map<String, Resource> fixtures = fixtures();
+            long filas = 0;
+            for (List<String> nivel : levels(fixtures.keySet())) {
+                List<Future<Long>> cargas = new ArrayList<>();
+                for (String tabla : nivel) {
+                    cargas.add(executor.submit(loadTask(tabla, fixtures.get(tabla))));
+                }
+                for (Future<Long> carga : cargas) {
+                    filas += carga.get();
+                }
+            }
+            long duracion = System.currentTimeMillis() - inicio;
+            log.info("Seed data loaded: {} rows from {} fixtures in {} ms", filas, fixtures.size(), duracion);
+            estado = Health.up().withDetail("seed", "loaded").withDetail("rows", filas).withDetail("millis", duracion).build();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            estado = Health.down(ex).withDetail("seed", "interrupted").build();
+        } catch (ExecutionException ex) {
+            log.error("Seed data load failed", ex.getCause());
+            estado = Health.down(ex.getCause()).withDetail("seed", "failed").build();
+        } catch (IOException | SQLException | RuntimeException ex) {
+            log.error("Seed data load failed", ex);
+            estado = Health.down(ex).withDetail("seed", "failed").build();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // tabla -> fichero; un CSV tiene prioridad sobre un NDJSON de la misma tabla
+    private Map<String, Resource> fixtures() throws IOException {
+        Map<String, Resource> fixtures = new HashMap<>();
+        for (String extension : List.of("ndjson", "csv")) {
+            for (Resource resource : resourcePatternResolver.getResources(seedProperties.getLocation() + "/*." + extension)) {
+                String nombre = resource.getFilename();
+                String tabla = nombre.substring(0, nombre.length() - extension.length() - 1);
+                fixtures.put(identifier(tabla), resource);
+            }
+        }
+        return fixtures;
+    }
+
+    /**
+     * Agrupa las tablas en niveles: cada tabla queda en un nivel posterior a las tablas a las que
+     * referencia. Las que forman un ciclo van al final, en un nivel propio cada una.
+     */
+    List<List<String>> levels(Set<String> tablas) throws SQLException {
+        Map<String, Set<String>> dependencias = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String tabla : tablas) {
+                Set<String> referenciadas = new HashSet<>();
+                try (ResultSet rs = metaData.getImportedKeys(connection.getCatalog(), null, storedName(metaData, tabla))) {
+                    while (rs.next()) {
+                        String referenciada = rs.getString("PKTABLE_NAME").toLowerCase(Locale.ROOT);
+                        if (!referenciada.equals(tabla) && tablas.contains(referenciada)) {
+                            referenciadas.add(referenciada);
+                        }
+                    }
+                }
+                dependencias.put(tabla, referenciadas);
+            }
+        }
+
+        List<List<String>> niveles = new ArrayList<>();
+        Set<String> cargadas = new HashSet<>();
+        while (cargadas.size() < tablas.size()) {
+            List<String> nivel = dependencias.entrySet().stream()
+                    .filter(entry -> !cargadas.contains(entry.getKey()) && cargadas.containsAll(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            if (nivel.isEmpty()) {
+                List<String> ciclo = dependencias.keySet().stream().filter(t -> !cargadas.contains(t)).sorted().toList();
+                log.warn("Circular foreign keys between seed tables {}; loading them sequentially", ciclo);
+                ciclo.forEach(tabla -> niveles.add(List.of(tabla)));
+                break;
+            }
+            niveles.add(nivel);
+            cargadas.addAll(nivel);
+        }
+        return niveles;
+    }
+
+    private Callable<Long> loadTask(String tabla, Resource resource) {
+        return () -> {
+            long inicio = System.currentTimeMillis();
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    long filas = isCsv(resource) ? loadCsv(connection, tabla, resource) : loadNdjson(connection, tabla, resource);
+                    connection.commit();
+                    log.debug("Seed table {}: {} rows in {} ms", tabla, filas, System.currentTimeMillis() - inicio);
+                    return filas;
+                } catch (Exception ex) {
+                    connection.rollback();
+                    throw new IllegalStateException("Could not load seed table " + tabla + ": " + ex.getMessage(), ex);
+                }
+            }
+        };
+    }
+
+    private long loadCsv(Connection connection, String tabla, Resource resource) throws IOException, SQLException {
+        List<String> columnas;
+        try (BufferedReader reader = reader(resource)) {
+            String cabecera = reader.readLine();
+            if (cabecera == null) {
+                return 0;
+            }
+            columnas = parseCsvLine(cabecera.replace("\uFEFF", "")).stream().map(SeedLoader::identifier).toList();
+        }
+        String listaColumnas = String.join(", ", columnas);
+
+        if (databaseType == DatabaseType.H2 && resource.isFile()) {
+            // CSVREAD no admite el fichero como parámetro: va como literal con las comillas escapadas
+            String fichero = resource.getFile().getAbsolutePath().replace("'", "''");
+            String sql = "INSERT INTO " + tabla + " (" + listaColumnas + ") SELECT * FROM CSVREAD('" + fichero + "', NULL, 'charset=UTF-8')";
+            try (Statement statement = connection.createStatement()) {
+                return statement.executeUpdate(sql);
+            }
+        }
+        if (databaseType == DatabaseType.POSTGRESQL) {
+            String sql = "COPY " + tabla + " (" + listaColumnas + ") FROM STDIN WITH (FORMAT csv, HEADER true)";
+            try (Reader reader = reader(resource)) {
+                return PostgresCopy.copyIn(connection, sql, reader);
+            }
+        }
+
+        try (BufferedReader reader = reader(resource);
+             PreparedStatement ps = connection.prepareStatement(insertSql(tabla, columnas))) {
+            reader.readLine();
+            long filas = 0;
+            String registro;
+            while ((registro = nextCsvRecord(reader)) != null) {
+                if (registro.isEmpty()) {
+                    continue;
+                }
+                List<String> valores = parseCsvLine(registro);
+                for (int i = 0; i < columnas.size(); i++) {
+                    String valor = i < valores.size() ? valores.get(i) : null;
+                    bind(ps, i + 1, valor == null || valor.isEmpty() ? null : valor);
+                }
+                filas = addBatch(ps, filas);
+            }
+            ps.executeBatch();
+            return filas;
+        }
+    }
+
+    private long loadNdjson(Connection connection, String tabla, Resource resource) throws IOException, SQLException {
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(resource.getInputStream())) {
+            if (!items.hasNext()) {
+                return 0;
+            }
+            JsonNode primero = items.next();
+            List<String> campos = new ArrayList<>();
+            primero.fieldNames().forEachRemaining(campos::add);
+            List<String> columnas = campos.stream().map(SeedLoader::identifier).toList();
+
+            try (PreparedStatement ps = connection.prepareStatement(insertSql(tabla, columnas))) {
+                long filas = 0;
+                JsonNode item = primero;
+                while (item != null) {
+                    for (int i = 0; i < campos.size(); i++) {
+                        bind(ps, i + 1, value(item.get(campos.get(i))));
+                    }
+                    filas = addBatch(ps, filas);
+                    item = items.hasNext() ? items.next() : null;
+                }
+                ps.executeBatch();
+                return filas;
+            }
+        }
+    }
+
+    private long addBatch(PreparedStatement ps, long filas) throws SQLException {
+        ps.addBatch();
+        if (++filas % seedProperties.getBatchSize() == 0) {
+            ps.executeBatch();
+        }
+        return filas;
+    }
+
+    private void bind(PreparedStatement ps, int indice, Object valor) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, Types.NULL);
+        } else if (valor instanceof String texto && databaseType == DatabaseType.POSTGRESQL) {
+            // Sin tipo declarado PostgreSQL convierte el texto al tipo de la columna (fechas, numéricos, json...)
+            ps.setObject(indice, texto, Types.OTHER);
+        } else {
+            ps.setObject(indice, valor);
+        }
+    }
+
+    private static Object value(JsonNode nodo) {
+        if (nodo == null || nodo.isNull()) {
+            return null;
+        }
+        if (nodo.isContainerNode()) {
+            return nodo.toString();
+        }
+        if (nodo.isBoolean()) {
+            return nodo.booleanValue();
+        }
+        if (nodo.isIntegralNumber()) {
+            return nodo.canConvertToLong() ? nodo.longValue() : nodo.bigIntegerValue();
+        }
+        if (nodo.isNumber()) {
+            return nodo.decimalValue();
+        }
+        return nodo.asText();
+    }
+
+    private static String insertSql(String tabla, List<String> columnas) {
+        return "INSERT INTO " + tabla + " (" + String.join(", ", columnas) + ") VALUES ("
+                + String.join(", ", columnas.stream().map(c -> "?").toList()) + ")";
+    }
+
+    /**
+     * Lee un registro CSV completo, que puede ocupar varias líneas si un campo entrecomillado
+     * contiene saltos de línea.
+     */
+    static String nextCsvRecord(BufferedReader reader) throws IOException {
+        String linea = reader.readLine();
+        if (linea == null) {
+            return null;
+        }
+        StringBuilder registro = new StringBuilder(linea);
+        while (registro.chars().filter(c -> c == '"').count() % 2 != 0) {
+            String siguiente = reader.readLine();
+            if (siguiente == null) {
+                break;
+            }
+            registro.append('\n').append(siguiente);
+        }
+        return registro.toString();
+    }
+
+    /**
+     * Separa un registro CSV (RFC 4180). Un campo vacío sin comillas se devuelve como cadena vacía.
+     */
+    static List<String> parseCsvLine(String registro) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < registro.length(); i++) {
+            char c = registro.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < registro.length() && registro.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c != '\r') {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static boolean isCsv(Resource resource) {
+        return resource.getFilename() != null && resource.getFilename().toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    private static BufferedReader reader(Resource resource) throws IOException {
+        return new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    // Los nombres de tabla y columna se concatenan en el SQL, así que solo se admiten identificadores simples
+    private static String identifier(String nombre) {
+        String limpio = nombre.trim();
+        if (!IDENTIFIER.matcher(limpio).matches()) {
+            throw new IllegalArgumentException("Invalid seed identifier: " + nombre);
+        }
+        return limpio.toLowerCase(Locale.ROOT);
+    }
+
+    private static String storedName(DatabaseMetaData metaData, String tabla) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return tabla.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? tabla.toLowerCase(Locale.ROOT) : tabla;
+    }
+}
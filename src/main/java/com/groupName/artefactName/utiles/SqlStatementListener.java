@@ -0,0 +1,335 @@
+package com.groupName.artefactName.utiles;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.JdbcProxyFactory;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.jdk.JdkJdbcProxyFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Mide cada sentencia JDBC que pasa por el proxy del DataSource.
+ *
+ * Registra la latencia ({@code sql.statement}) y las filas leídas o modificadas
+ * ({@code sql.statement.rows}) agrupadas por forma de la sentencia: el SQL con los literales
+ * sustituidos por {@code ?} y las listas {@code in (...)} reducidas a un único parámetro. Las
+ * sentencias que superan el umbral se registran en el logger {@code sql.slow} con sus datos en el
+ * MDC, para que MongoDbAppender los guarde como campos; los parámetros se muestran solo por tipo
+ * salvo que se desactive la redacción.
+ *
+ * Las filas de un SELECT se cuentan en el proxy de su ResultSet y se registran al cerrar el
+ * ResultSet o, si nadie lo cierra, su sentencia. Las lecturas en streaming ({@link #streaming})
+ * no envuelven el ResultSet: se ahorran la llamada reflexiva por fila y no registran filas.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    public static final String TIMER_NAME = "sql.statement";
+    public static final String ROWS_NAME = "sql.statement.rows";
+
+    // Acota la cardinalidad de la etiqueta shape si llegan sentencias construidas a mano
+    static final int MAX_SHAPES = 500;
+    static final String OTHER_SHAPE = "other";
+    private static final int MAX_SHAPE_LENGTH = 300;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String START_KEY = SqlStatementListener.class.getName() + ".start";
+
+    // Rango del histograma de latencia: acota los buckets que se publican por cada forma de sentencia
+    private static final Duration MIN_EXPECTED_LATENCY = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofSeconds(30);
+    // Filas: buckets fijos por orden de magnitud en lugar del histograma de percentiles
+    private static final double[] ROW_BUCKETS = {1, 10, 100, 1_000, 10_000, 100_000};
+
+    private static final ThreadLocal<Boolean> STREAMING = new ThreadLocal<>();
+
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("sql.slow");
+    private static final Logger STATEMENT_LOG = LoggerFactory.getLogger("sql.statements");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final boolean redactParameters;
+
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    // Lectura pendiente de cada sentencia hasta que se cierra su ResultSet o la propia sentencia, y
+    // lectura a la que pertenece cada ResultSet que ya ha devuelto filas
+    private final Map<Statement, Lectura> pendingSelects = new ConcurrentHashMap<>();
+    private final Map<ResultSet, Lectura> rowCounts = new ConcurrentHashMap<>();
+
+    public SqlStatementListener(MeterRegistry meterRegistry, Duration slowThreshold, boolean redactParameters) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.redactParameters = redactParameters;
+    }
+
+    /**
+     * Ejecuta una lectura en streaming (exportaciones): sus ResultSet no pasan por el proxy.
+     */
+    public static void streaming(Runnable lectura) {
+        Boolean anterior = STREAMING.get();
+        STREAMING.set(Boolean.TRUE);
+        try {
+            lectura.run();
+        } finally {
+            if (anterior == null) {
+                STREAMING.remove();
+            }
+        }
+    }
+
+    /**
+     * Fábrica de proxies para ProxyDataSourceBuilder: igual que la de serie salvo que no envuelve los
+     * ResultSet abiertos dentro de {@link #streaming}.
+     */
+    public static JdbcProxyFactory jdbcProxyFactory() {
+        return new JdkJdbcProxyFactory() {
+            @Override
+            public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+                return STREAMING.get() != null ? resultSet : super.createResultSet(resultSet, connectionInfo, proxyConfig);
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long inicio = execInfo.getCustomValue(START_KEY, Long.class);
+        long nanos = inicio != null ? System.nanoTime() - inicio : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        String shape = shapeOf(sql);
+        String type = statementType(sql);
+
+        Timer.builder(TIMER_NAME)
+                .tag("shape", shape)
+                .tag("type", type)
+                .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        Object resultado = execInfo.getResult();
+        if (resultado instanceof ResultSet) {
+            Statement statement = unwrap(execInfo.getStatement());
+            if (statement != null && STREAMING.get() == null) {
+                // Volver a ejecutar la sentencia cierra el ResultSet anterior sin pasar por su proxy
+                Lectura anterior = pendingSelects.put(statement, new Lectura(shape));
+                if (anterior != null) {
+                    finish(anterior);
+                }
+            }
+        } else {
+            long filas = updateCount(resultado);
+            if (filas >= 0) {
+                rows(shape, type).record(filas);
+            }
+        }
+
+        if (STATEMENT_LOG.isDebugEnabled()) {
+            STATEMENT_LOG.debug("{} ms: {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql);
+        }
+        if (nanos >= slowThresholdNanos) {
+            logSlow(execInfo, queryInfoList, shape, nanos);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext context) {
+        if (!"close".equals(context.getMethod().getName())) {
+            return;
+        }
+        // El ResultSet ya no admite getStatement() una vez cerrado
+        if (context.getTarget() instanceof ResultSet resultSet) {
+            Lectura lectura = rowCounts.remove(resultSet);
+            try {
+                Statement statement = unwrap(resultSet.getStatement());
+                if (lectura == null) {
+                    lectura = pendingSelects.get(statement);
+                }
+                if (lectura != null && pendingSelects.remove(statement, lectura)) {
+                    finish(lectura);
+                }
+            } catch (SQLException ex) {
+                log.debug("Could not resolve statement of closed result set", ex);
+            }
+        } else if (context.getTarget() instanceof Statement statement) {
+            // Cerrar la sentencia cierra su ResultSet aunque no se haya cerrado antes de forma explícita
+            Lectura lectura = pendingSelects.remove(unwrap(statement));
+            if (lectura != null) {
+                finish(lectura);
+            }
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext context) {
+        if (context.getTarget() instanceof ResultSet resultSet
+                && "next".equals(context.getMethod().getName())
+                && Boolean.TRUE.equals(context.getResult())) {
+            Lectura lectura = rowCounts.get(resultSet);
+            if (lectura == null) {
+                lectura = attach(resultSet);
+            }
+            if (lectura != null) {
+                lectura.filas++;
+            }
+        }
+    }
+
+    private Lectura attach(ResultSet resultSet) {
+        try {
+            Lectura lectura = pendingSelects.get(unwrap(resultSet.getStatement()));
+            if (lectura != null) {
+                lectura.resultSet = resultSet;
+                rowCounts.put(resultSet, lectura);
+            }
+            return lectura;
+        } catch (SQLException ex) {
+            log.debug("Could not resolve statement of result set", ex);
+            return null;
+        }
+    }
+
+    private void finish(Lectura lectura) {
+        if (lectura.resultSet != null) {
+            rowCounts.remove(lectura.resultSet);
+        }
+        rows(lectura.shape, "select").record(lectura.filas);
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) : shape;
+    }
+
+    private String shapeOf(String sql) {
+        String shape = normalize(sql);
+        if (shapes.size() >= MAX_SHAPES && !shapes.containsKey(shape)) {
+            return OTHER_SHAPE;
+        }
+        return shapes.computeIfAbsent(shape, s -> s);
+    }
+
+    private DistributionSummary rows(String shape, String type) {
+        return DistributionSummary.builder(ROWS_NAME)
+                .tag("shape", shape)
+                .tag("type", type)
+                .serviceLevelObjectives(ROW_BUCKETS)
+                .register(meterRegistry);
+    }
+
+    private void logSlow(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, String shape, long nanos) {
+        MDC.put("sql.shape", shape);
+        MDC.put("sql.elapsedMs", String.valueOf(TimeUnit.NANOSECONDS.toMillis(nanos)));
+        MDC.put("sql.batchSize", String.valueOf(execInfo.getBatchSize()));
+        MDC.put("sql.parameters", parameters(queryInfoList));
+        try {
+            SLOW_LOG.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), shape);
+        } finally {
+            MDC.remove("sql.shape");
+            MDC.remove("sql.elapsedMs");
+            MDC.remove("sql.batchSize");
+            MDC.remove("sql.parameters");
+        }
+    }
+
+    private String parameters(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .flatMap(query -> query.getParametersList().stream())
+                .map(parametros -> parametros.stream()
+                        .map(this::parameter)
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(", "));
+    }
+
+    private String parameter(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        Object valor = args.length > 1 ? args[1] : null;
+        if (valor == null) {
+            return "null";
+        }
+        return redactParameters ? "<" + valor.getClass().getSimpleName() + ">" : String.valueOf(valor);
+    }
+
+    private static String statementType(String sql) {
+        String inicio = sql.stripLeading();
+        int fin = 0;
+        while (fin < inicio.length() && Character.isLetter(inicio.charAt(fin))) {
+            fin++;
+        }
+        String verbo = inicio.substring(0, fin).toLowerCase(Locale.ROOT);
+        return switch (verbo) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete", "merge" -> verbo;
+            default -> "other";
+        };
+    }
+
+    private static long updateCount(Object resultado) {
+        if (resultado instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (resultado instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    // Un ResultSet se recorre desde un único hilo; el cierre llega por el mismo
+    private static final class Lectura {
+        private final String shape;
+        private long filas;
+        private ResultSet resultSet;
+
+        private Lectura(String shape) {
+            this.shape = shape;
+        }
+    }
+
+    private static Statement unwrap(Statement statement) {
+        try {
+            return statement == null ? null : statement.unwrap(Statement.class);
+        } catch (SQLException ex) {
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.groupName.artefactName.utiles;
+
+/**
+ * Estrategias de búsqueda de texto que {@link FilterTypeInferer} aplica a los atributos String.
+ */
+public enum TextSearchMode {
+
+    /**
+     * {@code like '%valor%'}: comportamiento histórico. No puede usar índices B-tree.
+     */
+    CONTAINS,
+
+    /**
+     * {@code like 'valor%'}: utilizable por un índice B-tree sobre la columna.
+     */
+    PREFIX,
+
+    /**
+     * {@code lower(columna) like 'valor%'}: requiere un índice funcional sobre {@code lower(columna)}.
+     */
+    IGNORE_CASE,
+
+    /**
+     * Búsqueda de texto completo con el mecanismo nativo de la base de datos
+     * (tsvector en PostgreSQL, MATCH ... AGAINST en MySQL, FT_SEARCH_DATA en H2 con {@link H2FullTextIndex}).
+     */
+    FULL_TEXT
+}
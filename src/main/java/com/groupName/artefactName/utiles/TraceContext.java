@@ -0,0 +1,73 @@
+package com.groupName.artefactName.utiles;
+
+import org.slf4j.MDC;
+import org.springframework.util.StringUtils;
+
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Identificador de traza de la petición en curso, guardado en el MDC bajo {@link #MDC_KEY} para
+ * que aparezca en cada línea de log (y en el documento que guarda MongoDbAppender).
+ *
+ * Se respeta el que llega del cliente o del proxy (X-Trace-Id o el trace-id de un traceparent
+ * W3C) y, si no hay ninguno, se genera uno con el mismo formato de 32 hexadecimales.
+ */
+public final class TraceContext {
+
+    public static final String MDC_KEY = "traceId";
+    public static final String HEADER = "X-Trace-Id";
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final Pattern VALID = Pattern.compile("[0-9A-Za-z-]{8,64}");
+    private static final Pattern W3C = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+
+    private TraceContext() {
+    }
+
+    public static String resolve(String header, String traceparent) {
+        if (StringUtils.hasText(header) && VALID.matcher(header).matches()) {
+            return header;
+        }
+        if (StringUtils.hasText(traceparent)) {
+            var w3c = W3C.matcher(traceparent.trim());
+            if (w3c.matches()) {
+                return w3c.group(1);
+            }
+        }
+        return generate();
+    }
+
+    public static String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HexFormat hex = HexFormat.of();
+        return hex.toHexDigits(random.nextLong()) + hex.toHexDigits(random.nextLong());
+    }
+
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    // Copia el MDC del hilo de la petición al hilo que ejecute la tarea
+    public static Runnable propagate(Runnable tarea) {
+        Map<String, String> contexto = MDC.getCopyOfContextMap();
+        if (contexto == null) {
+            return tarea;
+        }
+        return () -> {
+            Map<String, String> anterior = MDC.getCopyOfContextMap();
+            MDC.setContextMap(contexto);
+            try {
+                tarea.run();
+            } finally {
+                if (anterior == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(anterior);
+                }
+            }
+        };
+    }
+}
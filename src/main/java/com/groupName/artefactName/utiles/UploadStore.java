@@ -0,0 +1,137 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.UploadProperties;
+import com.groupName.artefactName.dto.UploadResponse;
+import com.groupName.artefactName.exceptions.ServiceOverloadedException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vuelca cuerpos grandes a disco sin acumularlos en el heap, hasta que una carga masiva los consume.
+ *
+ * La copia usa {@link FileChannel#transferFrom}: el JDK mueve los datos del stream de la petición
+ * al fichero por bloques con un buffer propio y reutilizado, así que el consumo de memoria por
+ * subida no depende de su tamaño. El fichero se escribe como {@code .part} y solo se renombra
+ * cuando la copia termina, por lo que una subida cortada nunca queda visible. Una subida se consume
+ * una sola vez y las que nadie consume se borran pasado upload.retention.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadStore {
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final UploadProperties properties;
+
+    public UploadResponse store(InputStream body) throws IOException {
+        Path directory = properties.getDirectory();
+        Files.createDirectories(directory);
+        long disponible = properties.getMaxTotalSize().toBytes() - usedBytes();
+        if (disponible <= 0) {
+            throw new ServiceOverloadedException("Upload storage is full, retry later.");
+        }
+        String id = UUID.randomUUID().toString();
+        Path parcial = directory.resolve(id + ".part");
+        long total = 0;
+        try (ReadableByteChannel origen = Channels.newChannel(body);
+             FileChannel destino = FileChannel.open(parcial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long copiados;
+            // Se pide un byte más que el hueco libre para saber si el cuerpo no cabe
+            while ((copiados = destino.transferFrom(origen, total, Math.min(TRANSFER_CHUNK, disponible + 1 - total))) > 0) {
+                total += copiados;
+                if (total > disponible) {
+                    throw new ServiceOverloadedException("Upload storage is full, retry later.");
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(parcial);
+            throw ex;
+        }
+        Files.move(parcial, resolve(id), StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Upload {} stored ({} bytes)", id, total);
+        return UploadResponse.builder().id(id).size(total).build();
+    }
+
+    /**
+     * Reclama la subida para un único consumidor: el fichero se retira del almacén y se borra al
+     * cerrar el stream devuelto.
+     * @throws EntityNotFoundException si no existe, ya se consumió o caducó.
+     */
+    public InputStream consume(String id) throws IOException {
+        Path reclamado = properties.getDirectory().resolve(UUID.randomUUID() + ".claimed");
+        try {
+            Files.move(resolve(id), reclamado, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException | IllegalArgumentException ex) {
+            throw new EntityNotFoundException("Unknown upload: " + id);
+        }
+        // Cuenta la retención desde que empieza el consumo, no desde la subida
+        Files.setLastModifiedTime(reclamado, FileTime.fromMillis(System.currentTimeMillis()));
+        return Files.newInputStream(reclamado, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    public Path resolve(String id) {
+        // El id es siempre un UUID generado aquí; cualquier otra cosa podría escapar del directorio
+        return properties.getDirectory().resolve(UUID.fromString(id) + ".bin");
+    }
+
+    /**
+     * Borra las subidas no consumidas y los restos de copias cortadas por una caída.
+     */
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        long limite = System.currentTimeMillis() - properties.getRetention().toMillis();
+        for (Path fichero : files()) {
+            try {
+                if (Files.getLastModifiedTime(fichero).toMillis() < limite && Files.deleteIfExists(fichero)) {
+                    log.debug("Expired upload {} deleted", fichero.getFileName());
+                }
+            } catch (IOException ex) {
+                log.warn("Could not delete expired upload {}: {}", fichero, ex.getMessage());
+            }
+        }
+    }
+
+    private long usedBytes() {
+        long total = 0;
+        for (Path fichero : files()) {
+            try {
+                total += Files.size(fichero);
+            } catch (IOException ex) {
+                // Consumido o purgado mientras se recorría el directorio
+            }
+        }
+        return total;
+    }
+
+    private List<Path> files() {
+        if (!Files.isDirectory(properties.getDirectory())) {
+            return List.of();
+        }
+        try (Stream<Path> ficheros = Files.list(properties.getDirectory())) {
+            return ficheros.filter(Files::isRegularFile).toList();
+        } catch (IOException ex) {
+            log.warn("Could not list upload directory {}: {}", properties.getDirectory(), ex.getMessage());
+            return List.of();
+        }
+    }
+}
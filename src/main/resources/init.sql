@@ -1 +1,32 @@
 CREATE TYPE IF NOT EXISTS "JSONB" AS json;
+CREATE ALIAS IF NOT EXISTS JSON_CONTAINS FOR 'com.groupName.artefactName.utiles.H2JsonFunctions.contains';
+CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init';
+CALL FT_INIT();
+
+-- Tablas de ExportJobStore y JdbcIdempotencyStore (fechas en epoch millis)
+CREATE TABLE IF NOT EXISTS export_job (
+    id VARCHAR(36) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    node VARCHAR(255) NOT NULL,
+    entity VARCHAR(255) NOT NULL,
+    filters VARCHAR(4000) NOT NULL,
+    fields VARCHAR(4000) NOT NULL,
+    format VARCHAR(16) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    rows_written BIGINT NOT NULL,
+    total_rows BIGINT,
+    bytes_written BIGINT NOT NULL,
+    last_id VARCHAR(255),
+    error VARCHAR(1000),
+    created_at BIGINT NOT NULL,
+    updated_at BIGINT NOT NULL
+);
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    id VARCHAR(320) PRIMARY KEY,
+    fingerprint VARCHAR(1024) NOT NULL,
+    completed BOOLEAN NOT NULL,
+    status INT,
+    content_type VARCHAR(255),
+    body BLOB,
+    expires_at BIGINT NOT NULL
+);
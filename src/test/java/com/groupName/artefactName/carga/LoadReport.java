@@ -0,0 +1,120 @@
+package com.groupName.artefactName.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias por operación (en microsegundos, HdrHistogram) y su comparación con la línea base.
+ */
+public class LoadReport {
+
+    // 1 µs .. 2 min con 3 dígitos significativos
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String operacion, long latenciaNanos, boolean ok) {
+        long micros = Math.min(MAX_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latenciaNanos)));
+        histograms.computeIfAbsent(operacion, k -> new ConcurrentHistogram(MAX_MICROS, 3)).recordValue(micros);
+        if (!ok) {
+            errors.computeIfAbsent(operacion, k -> new LongAdder()).increment();
+        }
+    }
+
+    public Map<String, Stats> summary(double segundos) {
+        Map<String, Stats> resumen = new TreeMap<>();
+        Histogram total = new Histogram(MAX_MICROS, 3);
+        long erroresTotales = 0;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram h = entry.getValue().copy();
+            long fallos = errors.getOrDefault(entry.getKey(), new LongAdder()).sum();
+            resumen.put(entry.getKey(), Stats.of(h, fallos, segundos));
+            total.add(h);
+            erroresTotales += fallos;
+        }
+        resumen.put("all", Stats.of(total, erroresTotales, segundos));
+        return resumen;
+    }
+
+    public void writeDistributions(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directorio.resolve(entry.getKey() + ".hgrm")))) {
+                // Formato .hgrm: se puede pegar en el HdrHistogram plotter
+                entry.getValue().copy().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    public static void write(Map<String, Stats> resumen, Path fichero) throws IOException {
+        Files.createDirectories(fichero.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(fichero.toFile(), resumen);
+    }
+
+    public static Map<String, Stats> read(Path fichero) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.readValue(fichero.toFile(), mapper.getTypeFactory().constructMapType(TreeMap.class, String.class, Stats.class));
+    }
+
+    /**
+     * Devuelve las regresiones: p99 por encima de la base o throughput por debajo en más de la
+     * tolerancia, y tasa de error por encima del máximo absoluto.
+     */
+    public static List<String> regressions(Map<String, Stats> actual, Map<String, Stats> base, double tolerancia, double maxErrorRate) {
+        List<String> regresiones = new ArrayList<>();
+        actual.forEach((operacion, stats) -> {
+            if (stats.errorRate() > maxErrorRate) {
+                regresiones.add(String.format("%s: error rate %.2f%% > %.2f%%", operacion, stats.errorRate() * 100, maxErrorRate * 100));
+            }
+            Stats anterior = base.get(operacion);
+            if (anterior == null) {
+                return;
+            }
+            if (stats.p99() > anterior.p99() * (1 + tolerancia)) {
+                regresiones.add(String.format("%s: p99 %.1f ms > baseline %.1f ms", operacion, stats.p99(), anterior.p99()));
+            }
+            if (stats.throughput() < anterior.throughput() * (1 - tolerancia)) {
+                regresiones.add(String.format("%s: throughput %.1f req/s < baseline %.1f req/s", operacion, stats.throughput(), anterior.throughput()));
+            }
+        });
+        return regresiones;
+    }
+
+    public static void print(Map<String, Stats> resumen, PrintStream out) {
+        out.printf("%-10s %8s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        resumen.forEach((operacion, s) -> out.printf("%-10s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                operacion, s.count(), s.errors(), s.throughput(), s.p50(), s.p90(), s.p99(), s.p999(), s.max()));
+    }
+
+    public record Stats(long count, long errors, double throughput, double p50, double p90, double p99, double p999, double max) {
+
+        static Stats of(Histogram h, long errores, double segundos) {
+            return new Stats(h.getTotalCount(), errores, h.getTotalCount() / segundos,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.groupName.artefactName.carga;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadReportTest {
+
+    @TempDir
+    Path tmp;
+
+    private static LoadReport.Stats stats(long count, long errors, double throughput, double p99) {
+        return new LoadReport.Stats(count, errors, throughput, 1, 2, p99, p99, p99);
+    }
+
+    @Test
+    void shouldSummarizePercentilesPerOperationAndOverall() throws Exception {
+        LoadReport report = new LoadReport();
+        for (int i = 1; i <= 100; i++) {
+            report.record("get-all", TimeUnit.MILLISECONDS.toNanos(i), true);
+        }
+        report.record("create", TimeUnit.MILLISECONDS.toNanos(5), false);
+
+        Map<String, LoadReport.Stats> resumen = report.summary(10);
+
+        assertEquals(100, resumen.get("get-all").count());
+        assertEquals(10.0, resumen.get("get-all").throughput());
+        assertEquals(99.0, resumen.get("get-all").p99(), 0.5);
+        assertEquals(101, resumen.get("all").count());
+        assertEquals(1, resumen.get("all").errors());
+
+        LoadReport.write(resumen, tmp.resolve("report.json"));
+        assertEquals(resumen, LoadReport.read(tmp.resolve("report.json")));
+    }
+
+    @Test
+    void shouldFlagRegressionsBeyondTolerance() {
+        Map<String, LoadReport.Stats> base = Map.of("get-all", stats(1000, 0, 50, 100));
+
+        assertTrue(LoadReport.regressions(Map.of("get-all", stats(1000, 0, 45, 115)), base, 0.2, 0.01).isEmpty());
+
+        List<String> regresiones = LoadReport.regressions(Map.of("get-all", stats(1000, 50, 30, 150)), base, 0.2, 0.01);
+        assertEquals(3, regresiones.size(), regresiones.toString());
+    }
+}
@@ -0,0 +1,126 @@
+package com.groupName.artefactName.carga;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga en modelo abierto: las peticiones se lanzan a ritmo constante (load.rate por
+ * segundo) tanto si las anteriores han terminado como si no, igual que llegan los usuarios
+ * reales. La latencia se mide desde el instante en que la petición debía salir, no desde que
+ * salió, para no esconder la cola (omisión coordinada).
+ *
+ * Se ejecuta con el perfil Maven load-test, que arranca la aplicación sobre H2 antes y la para
+ * después. Ver README.md, sección "Pruebas de carga".
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.base-url", "http://localhost:18080");
+        double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+        Duration duracion = Duration.parse("PT" + System.getProperty("load.duration", "60s"));
+        Duration calentamiento = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+        Duration timeout = Duration.parse("PT" + System.getProperty("load.timeout", "30s"));
+        int maxPendientes = Integer.getInteger("load.max-outstanding", 5000);
+        Path fixtures = Path.of(System.getProperty("load.fixtures", "src/test/resources/end-to-end"));
+        Path baseline = Path.of(System.getProperty("load.baseline", "src/test/resources/load-test/baseline.json"));
+        Path salida = Path.of(System.getProperty("load.output", "target/load-test"));
+        double tolerancia = Double.parseDouble(System.getProperty("load.tolerance", "0.2"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        boolean actualizarBase = Boolean.getBoolean("load.update-baseline");
+        List<String> extra = Arrays.stream(System.getProperty("load.extra-paths", "").split(","))
+                .map(String::trim).filter(p -> !p.isEmpty()).toList();
+        String usuario = System.getProperty("load.username", "");
+        String authorization = usuario.isEmpty() ? null : "Basic " + Base64.getEncoder()
+                .encodeToString((usuario + ":" + System.getProperty("load.password", "")).getBytes(StandardCharsets.UTF_8));
+
+        Workload workload = Workload.load(fixtures, System.getProperty("load.mix", "create:2,get-all:3,get-one:3,update:1.5,delete:0.5"), extra);
+        // Las rutas extra solo completan la mezcla: sin fixtures se mediría únicamente el health check
+        if (workload.entities().isEmpty()) {
+            throw new IllegalStateException("No workload: no entity folders in " + fixtures);
+        }
+
+        LoadReport report = run(workload, baseUrl, authorization, rate, duracion, calentamiento, timeout, maxPendientes);
+        Map<String, LoadReport.Stats> resumen = report.summary(duracion.toNanos() / 1e9);
+        LoadReport.print(resumen, System.out);
+        LoadReport.write(resumen, salida.resolve("report.json"));
+        report.writeDistributions(salida);
+
+        if (actualizarBase) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(salida.resolve("report.json"), baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            throw new IllegalStateException("No baseline at " + baseline + "; record one with -Dload.update-baseline=true and commit it");
+        }
+        Map<String, LoadReport.Stats> base = LoadReport.read(baseline);
+        List<String> regresiones = LoadReport.regressions(resumen, base, tolerancia, maxErrorRate);
+        if (!regresiones.isEmpty()) {
+            throw new IllegalStateException("Load test regression:\n  " + String.join("\n  ", regresiones));
+        }
+    }
+
+    static LoadReport run(Workload workload, String baseUrl, String authorization, double rate, Duration duracion,
+                          Duration calentamiento, Duration timeout, int maxPendientes) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        LoadReport report = new LoadReport();
+        AtomicInteger pendientes = new AtomicInteger();
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long inicio = System.nanoTime();
+        long inicioMedida = inicio + calentamiento.toNanos();
+        long fin = inicioMedida + duracion.toNanos();
+
+        for (long i = 0; ; i++) {
+            long programada = inicio + i * intervalo;
+            if (programada >= fin) {
+                break;
+            }
+            long espera = programada - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            boolean medir = programada >= inicioMedida;
+            Workload.Call call = workload.next(baseUrl, authorization, timeout);
+            if (pendientes.get() >= maxPendientes) {
+                // El servidor ya no da abasto: se cuenta como fallo en lugar de acumular memoria aquí
+                if (medir) {
+                    report.record(call.operation(), timeout.toNanos(), false);
+                }
+                continue;
+            }
+            pendientes.incrementAndGet();
+            client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        pendientes.decrementAndGet();
+                        if (medir) {
+                            boolean ok = error == null && call.succeeded(response);
+                            report.record(call.operation(), System.nanoTime() - programada, ok);
+                        } else if (error == null) {
+                            call.succeeded(response);
+                        }
+                    });
+        }
+
+        long limite = System.nanoTime() + timeout.toNanos();
+        while (pendientes.get() > 0 && System.nanoTime() < limite) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return report;
+    }
+}
@@ -0,0 +1,180 @@
+package com.groupName.artefactName.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Mezcla de operaciones construida con los mismos fixtures que la etapa E2E del Jenkinsfile:
+ * una carpeta por entidad en src/test/resources/end-to-end con crear.json y actualizar.json,
+ * contra /api/{entidad}s.
+ *
+ * Las operaciones sobre un registro concreto (get-one, update, delete) usan ids creados durante
+ * la propia prueba; mientras no hay ninguno se sustituyen por un create.
+ */
+public class Workload {
+
+    public static final String CREATE = "create";
+    public static final String UPDATE = "update";
+    public static final String GET_ALL = "get-all";
+    public static final String GET_ONE = "get-one";
+    public static final String DELETE = "delete";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Entity> entities;
+    private final Map<String, Double> mix;
+    private final double pesoTotal;
+    private final List<String> extraPaths;
+
+    public Workload(List<Entity> entities, Map<String, Double> mix, List<String> extraPaths) {
+        this.entities = entities;
+        this.mix = mix;
+        this.pesoTotal = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+        this.extraPaths = extraPaths;
+    }
+
+    public static Workload load(Path fixtures, String mix, List<String> extraPaths) throws IOException {
+        List<Entity> entidades = new ArrayList<>();
+        if (Files.isDirectory(fixtures)) {
+            try (Stream<Path> carpetas = Files.list(fixtures)) {
+                for (Path carpeta : carpetas.filter(Files::isDirectory).sorted().toList()) {
+                    entidades.add(new Entity(carpeta.getFileName().toString(),
+                            read(carpeta.resolve("crear.json")), read(carpeta.resolve("actualizar.json"))));
+                }
+            }
+        }
+        return new Workload(entidades, parseMix(mix), extraPaths);
+    }
+
+    // "create:2,get-all:3" -> {create=2.0, get-all=3.0}
+    static Map<String, Double> parseMix(String mix) {
+        Map<String, Double> pesos = new LinkedHashMap<>();
+        for (String parte : mix.split(",")) {
+            String[] kv = parte.trim().split(":");
+            pesos.put(kv[0].trim(), Double.parseDouble(kv[1].trim()));
+        }
+        return pesos;
+    }
+
+    private static String read(Path fichero) throws IOException {
+        return Files.exists(fichero) ? Files.readString(fichero).trim() : null;
+    }
+
+    public List<Entity> entities() {
+        return entities;
+    }
+
+    /**
+     * Siguiente petición de la mezcla. El nombre de la operación es la clave del histograma.
+     */
+    public Call next(String baseUrl, String authorization, Duration timeout) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int total = entities.size() + extraPaths.size();
+        int elegido = random.nextInt(total);
+        if (elegido >= entities.size()) {
+            String ruta = extraPaths.get(elegido - entities.size());
+            return new Call("get " + ruta, null, request(baseUrl + ruta, authorization, timeout).GET().build());
+        }
+
+        Entity entidad = entities.get(elegido);
+        String base = baseUrl + "/api/" + entidad.name() + "s";
+        String operacion = pick(random);
+        Optional<String> id = entidad.anyId(random);
+        if (id.isEmpty() && !CREATE.equals(operacion) && !GET_ALL.equals(operacion)) {
+            operacion = CREATE;
+        }
+        if (entidad.createBody() == null && CREATE.equals(operacion)) {
+            operacion = GET_ALL;
+        }
+        HttpRequest.Builder builder = switch (operacion) {
+            case CREATE -> request(base, authorization, timeout).POST(json(entidad.createBody()));
+            case UPDATE -> request(base + "/" + id.get(), authorization, timeout)
+                    .PUT(json(entidad.updateBody() != null ? entidad.updateBody() : entidad.createBody()));
+            case GET_ONE -> request(base + "/" + id.get(), authorization, timeout).GET();
+            case DELETE -> request(base + "/" + entidad.takeId(id.get()), authorization, timeout).DELETE();
+            default -> request(base, authorization, timeout).GET();
+        };
+        return new Call(operacion, entidad, builder.build());
+    }
+
+    private String pick(ThreadLocalRandom random) {
+        double punto = random.nextDouble(pesoTotal);
+        for (Map.Entry<String, Double> entry : mix.entrySet()) {
+            punto -= entry.getValue();
+            if (punto < 0) {
+                return entry.getKey();
+            }
+        }
+        return GET_ALL;
+    }
+
+    private static HttpRequest.Builder request(String url, String authorization, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder;
+    }
+
+    private static HttpRequest.BodyPublisher json(String cuerpo) {
+        return HttpRequest.BodyPublishers.ofString(cuerpo);
+    }
+
+    public record Entity(String name, String createBody, String updateBody, ConcurrentLinkedDeque<String> ids) {
+
+        public Entity(String name, String createBody, String updateBody) {
+            this(name, createBody, updateBody, new ConcurrentLinkedDeque<>());
+        }
+
+        Optional<String> anyId(ThreadLocalRandom random) {
+            // Los más recientes están al principio: suficientes para repartir las lecturas
+            return random.nextBoolean() ? Optional.ofNullable(ids.peekFirst()) : Optional.ofNullable(ids.peekLast());
+        }
+
+        String takeId(String id) {
+            ids.remove(id);
+            return id;
+        }
+    }
+
+    public record Call(String operation, Entity entity, HttpRequest request) {
+
+        public boolean succeeded(HttpResponse<String> response) {
+            int status = response.statusCode();
+            if (status < 200 || status >= 300) {
+                return false;
+            }
+            if (CREATE.equals(operation) && entity != null) {
+                try {
+                    JsonNode id = MAPPER.readTree(response.body()).get("id");
+                    if (id == null) {
+                        return false;
+                    }
+                    entity.ids().addFirst(id.asText());
+                } catch (IOException ex) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
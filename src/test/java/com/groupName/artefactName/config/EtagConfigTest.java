@@ -0,0 +1,56 @@
+package com.groupName.artefactName.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class EtagConfigTest {
+
+    private final FilterRegistrationBean<ShallowEtagHeaderFilter> registro = new EtagConfig().filterEtagFilter();
+
+    @Test
+    void shouldOnlyApplyToFilteredLists() {
+        assertEquals(List.of("/api/filter/*"), List.copyOf(registro.getUrlPatterns()));
+    }
+
+    @Test
+    void matchingIfNoneMatchShouldReturnNotModified() throws Exception {
+        MockHttpServletResponse primera = get(null, "{\"content\":[{\"id\":1,\"roles\":[\"ADMIN\"]}]}");
+        String etag = primera.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        assertEquals(304, get(etag, "{\"content\":[{\"id\":1,\"roles\":[\"ADMIN\"]}]}").getStatus());
+        // Un cambio en una asociación expandida cambia el cuerpo y, con él, el ETag
+        assertEquals(200, get(etag, "{\"content\":[{\"id\":1,\"roles\":[\"USER\"]}]}").getStatus());
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch, String cuerpo) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/filter/user");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getWriter().write(cuerpo);
+            }
+        };
+        registro.getFilter().doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
@@ -0,0 +1,48 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExportPropertiesTest {
+
+    private ExportProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExportProperties();
+        properties.setEntities(Map.of("User", List.of("id", "correo")));
+    }
+
+    @Test
+    void shouldDefaultToAllowedColumnsIgnoringEntityCase() {
+        assertEquals(List.of("id", "correo"), properties.columns("user", List.of(), Map.of()));
+        assertEquals(List.of("correo"), properties.columns("USER", List.of("correo"), Map.of("id.gt", "3")));
+    }
+
+    @Test
+    void shouldRejectEntitiesOutsideTheList() {
+        assertThrows(EntityNotFoundException.class, () -> properties.columns("role", List.of(), Map.of()));
+    }
+
+    @Test
+    void shouldRejectHiddenColumnsAsFieldsOrFilters() {
+        assertThrows(BusinessLogicException.class, () -> properties.columns("user", List.of("password"), Map.of()));
+        assertThrows(BusinessLogicException.class, () -> properties.columns("user", List.of(), Map.of("password.like", "a")));
+    }
+
+    @Test
+    void shouldRejectSortingByHiddenColumns() {
+        assertEquals(List.of("id"), properties.columns("user", List.of("id"), Map.of(), Sort.by("correo").descending()));
+        assertThrows(BusinessLogicException.class,
+                () -> properties.columns("user", List.of("id"), Map.of(), Sort.by("id", "password")));
+    }
+}
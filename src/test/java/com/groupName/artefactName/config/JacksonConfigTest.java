@@ -0,0 +1,76 @@
+package com.groupName.artefactName.config;
+
+import com.groupName.artefactName.controlador.ErrorResponse;
+import com.groupName.artefactName.dto.AuthResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JacksonConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final JacksonConfig config = new JacksonConfig();
+
+    @Test
+    void binaryConvertersShouldNegotiateTheirMediaTypes() {
+        assertTrue(config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).canWrite(AuthResponse.class, MediaType.APPLICATION_CBOR));
+        assertTrue(config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).canRead(AuthResponse.class, MediaType.APPLICATION_CBOR));
+        assertTrue(config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).canWrite(AuthResponse.class, SMILE));
+        assertTrue(config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).canRead(AuthResponse.class, SMILE));
+    }
+
+    @Test
+    void authResponseShouldRoundTripThroughEveryBinaryFormat() throws Exception {
+        AuthResponse respuesta = AuthResponse.builder()
+                .token("eyJhbGciOiJIUzI1NiJ9.e30.firma")
+                .roles(List.of("ADMIN"))
+                .permisos(List.of("user:read", "user:write"))
+                .build();
+
+        for (AbstractJackson2HttpMessageConverter converter : binaryConverters()) {
+            MediaType tipo = converter.getSupportedMediaTypes().get(0);
+            MockHttpOutputMessage salida = new MockHttpOutputMessage();
+            converter.write(respuesta, tipo, salida);
+            assertEquals(tipo, salida.getHeaders().getContentType());
+
+            AuthResponse leida = (AuthResponse) converter.read(AuthResponse.class, new MockHttpInputMessage(salida.getBodyAsBytes()));
+            assertEquals(respuesta.getToken(), leida.getToken());
+            assertEquals(respuesta.getPermisos(), leida.getPermisos());
+        }
+    }
+
+    @Test
+    void errorResponseShouldKeepTheSameFieldsAsJsonAndBeSmaller() throws Exception {
+        ErrorResponse error = ErrorResponse.of(HttpStatus.BAD_REQUEST, "Invalid filter value", "uri=/api/filter/user");
+        MockHttpOutputMessage json = new MockHttpOutputMessage();
+        new MappingJackson2HttpMessageConverter(new Jackson2ObjectMapperBuilder().build()).write(error, MediaType.APPLICATION_JSON, json);
+
+        for (AbstractJackson2HttpMessageConverter converter : binaryConverters()) {
+            MockHttpOutputMessage salida = new MockHttpOutputMessage();
+            converter.write(error, converter.getSupportedMediaTypes().get(0), salida);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> campos = (Map<String, Object>) converter.read(Map.class, new MockHttpInputMessage(salida.getBodyAsBytes()));
+            assertEquals(400, campos.get("status"));
+            assertEquals("Invalid filter value", campos.get("message"));
+            assertTrue(salida.getBodyAsBytes().length < json.getBodyAsBytes().length);
+        }
+    }
+
+    private List<AbstractJackson2HttpMessageConverter> binaryConverters() {
+        return List.of(config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()));
+    }
+}
@@ -1,9 +1,13 @@
 package com.groupName.artefactName.config;
 
+import com.groupName.artefactName.utiles.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,18 +16,30 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(SecurityConfigTest.DummyController.class)
-@Import(SecurityConfig.class)
+// El slice registra los filtros (OncePerRequestFilter) pero no los @Component de config: se importan
+// sus propiedades y dependencias para que la cadena de filtros sea la real
+@Import({SecurityConfig.class, DeadlineProperties.class, ConcurrencyLimitProperties.class, RequestLimitProperties.class,
+        IdempotencyProperties.class, SimpleMeterRegistry.class, SecurityConfigTest.DummyController.class})
 class SecurityConfigTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoBean
+    private IdempotencyStore idempotencyStore;
+
     @RestController
     static class DummyController {
         @GetMapping("/secured")
         public String secureEndpoint() {
             return "OK";
         }
+
+        // Rutas de actuator simuladas: el slice no arranca actuator, pero sí la cadena de seguridad
+        @GetMapping({"/actuator/prometheus", "/actuator/health/readiness"})
+        public String actuatorEndpoint() {
+            return "OK";
+        }
     }
 
     @Test
@@ -31,4 +47,23 @@ class SecurityConfigTest {
         mockMvc.perform(get("/secured"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void prometheusScrapeShouldRequireAuth() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void prometheusScrapeShouldBeServedToAuthenticatedCallers() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void healthProbesShouldStayPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk());
+    }
 }
@@ -1,6 +1,8 @@
 package com.groupName.artefactName.controlador;
 
 import com.groupName.artefactName.exceptions.BusinessLogicException;
+import com.groupName.artefactName.exceptions.DeadlineExceededException;
+import com.groupName.artefactName.exceptions.PreconditionFailedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -160,4 +162,29 @@ class GlobalExceptionHandlerTest {
         assertEquals(errorMessage, response.getBody().getPath()); // Asumiendo que el mensaje de la excepción se guarda en 'path'
         assertNotNull(response.getBody().getTimestamp());
     }
+
+    @Test
+    void handleDeadlineExceededException_shouldReturnGatewayTimeout() {
+        DeadlineExceededException exception = new DeadlineExceededException("Request deadline of 100 ms exceeded");
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDeadlineExceededException(exception, webRequest);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), response.getBody().getStatus());
+        assertEquals("Request deadline exceeded.", response.getBody().getMessage());
+    }
+
+    @Test
+    void handlePreconditionFailedException_shouldReturnPreconditionFailed() {
+        PreconditionFailedException exception = new PreconditionFailedException("Resource was modified (If-Match does not match).");
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handlePreconditionFailedException(exception, webRequest);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Resource was modified by another request.", response.getBody().getMessage());
+    }
 }
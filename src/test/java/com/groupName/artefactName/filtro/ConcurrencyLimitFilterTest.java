@@ -0,0 +1,69 @@
+package com.groupName.artefactName.filtro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.groupName.artefactName.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(10);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        properties.setDefaultShare(0.8);
+        ConcurrencyLimitProperties.Group critico = new ConcurrencyLimitProperties.Group();
+        critico.setPatterns(List.of("/api/login"));
+        properties.getGroups().put("critical", critico);
+        ConcurrencyLimitProperties.Group pesado = new ConcurrencyLimitProperties.Group();
+        pesado.setPatterns(List.of("/api/export/**"));
+        pesado.setShare(0.5);
+        properties.getGroups().put("heavy", pesado);
+        filter = new ConcurrencyLimitFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+    }
+
+    private MockHttpServletResponse call(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void shouldRejectLowPriorityGroupFirstWithRetryAfter() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            filter.limiter().tryAcquire(1.0);
+        }
+
+        MockHttpServletResponse rechazada = call("/api/export/usuarios");
+        assertEquals(503, rechazada.getStatus());
+        assertEquals("2", rechazada.getHeader("Retry-After"));
+
+        assertEquals(200, call("/api/filter/usuarios").getStatus());
+        assertEquals(200, call("/api/login").getStatus());
+    }
+
+    @Test
+    void shouldKeepAdmittingCriticalGroupUntilFullLimit() throws Exception {
+        for (int i = 0; i < 9; i++) {
+            filter.limiter().tryAcquire(1.0);
+        }
+
+        assertEquals(503, call("/api/filter/usuarios").getStatus());
+        assertEquals(200, call("/api/login").getStatus());
+        assertEquals(9, filter.limiter().inFlight());
+    }
+}
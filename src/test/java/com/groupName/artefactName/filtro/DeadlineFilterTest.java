@@ -0,0 +1,72 @@
+package com.groupName.artefactName.filtro;
+
+import com.groupName.artefactName.config.DeadlineProperties;
+import com.groupName.artefactName.utiles.RequestDeadline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DeadlineFilterTest {
+
+    private DeadlineFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        DeadlineProperties properties = new DeadlineProperties();
+        properties.setDefaultTimeout(Duration.ofSeconds(30));
+        properties.setMaxTimeout(Duration.ofMinutes(1));
+        properties.getEndpoints().put("/api/**", Duration.ofSeconds(45));
+        properties.getEndpoints().put("/api/export/**", Duration.ofMinutes(30));
+        filter = new DeadlineFilter(properties);
+    }
+
+    @Test
+    void shouldUseMostSpecificEndpointTimeout() {
+        assertEquals(Duration.ofMinutes(30), filter.timeout(new MockHttpServletRequest("GET", "/api/export/user")));
+        assertEquals(Duration.ofSeconds(45), filter.timeout(new MockHttpServletRequest("GET", "/api/filter/user")));
+        assertEquals(Duration.ofSeconds(30), filter.timeout(new MockHttpServletRequest("GET", "/public/ping")));
+    }
+
+    @Test
+    void shouldHonourHeaderUpToMaxTimeout() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/filter/user");
+        request.addHeader("X-Request-Timeout", "500ms");
+        assertEquals(Duration.ofMillis(500), filter.timeout(request));
+
+        request = new MockHttpServletRequest("GET", "/api/filter/user");
+        request.addHeader("X-Request-Timeout", "10m");
+        assertEquals(Duration.ofMinutes(1), filter.timeout(request));
+
+        request = new MockHttpServletRequest("GET", "/api/filter/user");
+        request.addHeader("X-Request-Timeout", "pronto");
+        assertEquals(Duration.ofSeconds(45), filter.timeout(request));
+    }
+
+    @Test
+    void shouldExposeDeadlineOnlyDuringTheRequest() throws Exception {
+        AtomicReference<RequestDeadline> visto = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                visto.set(RequestDeadline.current());
+            }
+        });
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/filter/user"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(visto.get());
+        assertNull(RequestDeadline.current());
+    }
+}
@@ -0,0 +1,174 @@
+package com.groupName.artefactName.filtro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.groupName.artefactName.config.IdempotencyProperties;
+import com.groupName.artefactName.utiles.InMemoryIdempotencyStore;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        filter = new IdempotencyFilter(properties,
+                new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMinutes(5), 100),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private MockFilterChain handler(int status, CountDownLatch bloqueo) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                int n = ejecuciones.incrementAndGet();
+                if (bloqueo != null) {
+                    try {
+                        bloqueo.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"execution\":" + n + "}");
+            }
+        });
+    }
+
+    private MockHttpServletResponse post(String uri, String key, MockFilterChain chain) throws Exception {
+        return post(uri, key, "{}", "ana", chain);
+    }
+
+    private MockHttpServletResponse post(String uri, String key, String body, String usuario, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        if (key != null) {
+            request.addHeader("Idempotency-Key", key);
+        }
+        if (usuario != null) {
+            request.setUserPrincipal(new UsernamePasswordAuthenticationToken(usuario, null));
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void shouldReplayStoredResponseWithoutExecutingAgain() throws Exception {
+        MockHttpServletResponse primera = post("/api/users", "k1", handler(201, null));
+        MockHttpServletResponse repetida = post("/api/users", "k1", handler(201, null));
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(201, repetida.getStatus());
+        assertEquals(primera.getContentAsString(), repetida.getContentAsString());
+        assertEquals("true", repetida.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(primera.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void shouldMakeConcurrentDuplicateWaitForInFlightResult() throws Exception {
+        CountDownLatch bloqueo = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> primera = CompletableFuture.supplyAsync(() -> {
+            try {
+                return post("/api/users", "k2", handler(200, bloqueo));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (ejecuciones.get() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<MockHttpServletResponse> duplicada = CompletableFuture.supplyAsync(() -> {
+            try {
+                return post("/api/users", "k2", handler(200, null));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(50);
+        bloqueo.countDown();
+
+        assertEquals(primera.get(5, TimeUnit.SECONDS).getContentAsString(), duplicada.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void shouldReexecuteAfterServerErrorAndRejectKeyReuseOnOtherRoute() throws Exception {
+        assertEquals(500, post("/api/users", "k3", handler(500, null)).getStatus());
+        assertEquals(200, post("/api/users", "k3", handler(200, null)).getStatus());
+        assertEquals(2, ejecuciones.get());
+
+        MockHttpServletResponse otraRuta = post("/api/roles", "k3", handler(200, null));
+        assertEquals(422, otraRuta.getStatus());
+        assertTrue(otraRuta.getContentAsString().contains("Idempotency-Key"));
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        post("/api/users", null, handler(200, null));
+        post("/api/users", null, handler(200, null));
+
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    void shouldRejectKeyReuseWithAnotherBody() throws Exception {
+        post("/api/users", "k4", "{\"nombre\":\"ana\"}", "ana", handler(201, null));
+        MockHttpServletResponse otroCuerpo = post("/api/users", "k4", "{\"nombre\":\"luis\"}", "ana", handler(201, null));
+
+        assertEquals(422, otroCuerpo.getStatus());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void shouldPassTheBufferedBodyDownTheChain() throws Exception {
+        StringBuilder leido = new StringBuilder();
+        MockFilterChain eco = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                leido.append(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                resp.setStatus(200);
+            }
+        });
+
+        post("/api/users", "k5", "{\"nombre\":\"ana\"}", "ana", eco);
+
+        assertEquals("{\"nombre\":\"ana\"}", leido.toString());
+    }
+
+    @Test
+    void shouldNotStoreResponsesForAnonymousOrExcludedRequests() throws Exception {
+        post("/api/login", "k6", "{}", null, handler(200, null));
+        MockHttpServletResponse anonima = post("/api/login", "k6", "{}", null, handler(200, null));
+        post("/api/bulk/user", "k7", "[]", "ana", handler(200, null));
+        post("/api/bulk/user", "k7", "[]", "ana", handler(200, null));
+
+        assertEquals(4, ejecuciones.get());
+        assertNull(anonima.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+}
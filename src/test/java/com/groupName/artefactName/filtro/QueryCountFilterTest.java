@@ -0,0 +1,65 @@
+package com.groupName.artefactName.filtro;
+
+import com.groupName.artefactName.utiles.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryCountFilterTest {
+
+    private final QueryCounter inspector = new QueryCounter();
+
+    private MockFilterChain chainExecuting(int statements) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect("select 1");
+                }
+            }
+        });
+    }
+
+    private QueryCountFilter filter(int threshold, boolean fail) {
+        QueryCountFilter filter = new QueryCountFilter();
+        ReflectionTestUtils.setField(filter, "threshold", threshold);
+        ReflectionTestUtils.setField(filter, "fail", fail);
+        return filter;
+    }
+
+    @Test
+    void shouldFailWhenThresholdExceededInFailMode() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/filter/user");
+
+        assertThrows(IllegalStateException.class,
+                () -> filter(2, true).doFilter(request, new MockHttpServletResponse(), chainExecuting(3)));
+    }
+
+    @Test
+    void shouldOnlyWarnWhenFailModeDisabled() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/filter/user");
+
+        assertDoesNotThrow(() -> filter(2, false).doFilter(request, new MockHttpServletResponse(), chainExecuting(3)));
+    }
+
+    @Test
+    void counterShouldIgnoreStatementsOutsideARequest() {
+        inspector.inspect("select 1");
+        assertEquals(0, QueryCounter.current());
+
+        QueryCounter.start();
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        assertEquals(2, QueryCounter.stop());
+    }
+}
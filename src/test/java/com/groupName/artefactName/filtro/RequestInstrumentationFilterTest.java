@@ -0,0 +1,90 @@
+package com.groupName.artefactName.filtro;
+
+import com.groupName.artefactName.controlador.ErrorResponse;
+import com.groupName.artefactName.utiles.TraceContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestInstrumentationFilterTest {
+
+    private RequestInstrumentationFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestInstrumentationFilter(meterRegistry);
+    }
+
+    // Captura lo que ve el handler: el traceId del MDC, el ErrorResponse y las peticiones en curso
+    private MockFilterChain capturing(AtomicReference<String> traceId, AtomicReference<ErrorResponse> error) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                traceId.set(MDC.get(TraceContext.MDC_KEY));
+                error.set(ErrorResponse.of(HttpStatus.NOT_FOUND, "missing", req.getRequestURI()));
+                assertEquals(1.0, meterRegistry.get(RequestInstrumentationFilter.INFLIGHT_GAUGE).gauge().value());
+            }
+        });
+    }
+
+    @Test
+    void shouldPropagateIncomingTraceIdToMdcResponseAndErrorBody() throws Exception {
+        AtomicReference<String> traceId = new AtomicReference<>();
+        AtomicReference<ErrorResponse> error = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/filter/usuarios");
+        request.addHeader(TraceContext.HEADER, "abc-123-def");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, capturing(traceId, error));
+
+        assertEquals("abc-123-def", traceId.get());
+        assertEquals("abc-123-def", error.get().getTraceId());
+        assertEquals("abc-123-def", response.getHeader(TraceContext.HEADER));
+        assertNull(MDC.get(TraceContext.MDC_KEY));
+        assertEquals(0, filter.inFlight());
+    }
+
+    @Test
+    void shouldTakeTraceIdFromTraceparentOrGenerateOne() throws Exception {
+        AtomicReference<String> traceId = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/filter/usuarios");
+        request.addHeader(TraceContext.TRACEPARENT, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        filter.doFilter(request, new MockHttpServletResponse(), capturing(traceId, new AtomicReference<>()));
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", traceId.get());
+
+        MockHttpServletRequest invalida = new MockHttpServletRequest("GET", "/api/filter/usuarios");
+        invalida.addHeader(TraceContext.HEADER, "<script>");
+        filter.doFilter(invalida, new MockHttpServletResponse(), capturing(traceId, new AtomicReference<>()));
+        assertTrue(traceId.get().matches("[0-9a-f]{32}"), traceId.get());
+    }
+
+    @Test
+    void shouldCarryMdcIntoPropagatedTasks() {
+        AtomicReference<String> visto = new AtomicReference<>();
+        MDC.put(TraceContext.MDC_KEY, "trace-en-hilo");
+        Runnable tarea = TraceContext.propagate(() -> visto.set(MDC.get(TraceContext.MDC_KEY)));
+        MDC.clear();
+
+        tarea.run();
+
+        assertEquals("trace-en-hilo", visto.get());
+        assertNull(MDC.get(TraceContext.MDC_KEY));
+    }
+}
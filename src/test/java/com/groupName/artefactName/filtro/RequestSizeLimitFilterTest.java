@@ -0,0 +1,85 @@
+package com.groupName.artefactName.filtro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.groupName.artefactName.config.RequestLimitProperties;
+import com.groupName.artefactName.exceptions.PayloadTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestSizeLimitFilterTest {
+
+    private RequestSizeLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RequestLimitProperties properties = new RequestLimitProperties();
+        properties.setDefaultMaxBody(DataSize.ofKilobytes(1));
+        properties.getEndpoints().put("/api/login", DataSize.ofBytes(16));
+        properties.getEndpoints().put("/api/uploads", DataSize.ofBytes(-1));
+        filter = new RequestSizeLimitFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private static MockFilterChain readingChain() {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.getInputStream().readAllBytes();
+            }
+        });
+    }
+
+    private static MockHttpServletRequest post(String uri, byte[] body, boolean declareLength) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri) {
+            @Override
+            public long getContentLengthLong() {
+                return declareLength ? super.getContentLengthLong() : -1;
+            }
+        };
+        request.setContent(body);
+        return request;
+    }
+
+    @Test
+    void shouldRejectDeclaredLengthOverEndpointLimit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/api/login", new byte[64], true), response, readingChain());
+
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    void shouldStopChunkedBodyOnceLimitIsExceeded() {
+        assertThrows(PayloadTooLargeException.class,
+                () -> filter.doFilter(post("/api/login", new byte[64], false), new MockHttpServletResponse(), readingChain()));
+    }
+
+    @Test
+    void shouldAcceptBodiesWithinLimitOrOnUnlimitedEndpoints() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("/api/login", new byte[16], false), response, readingChain());
+        assertEquals(200, response.getStatus());
+
+        response = new MockHttpServletResponse();
+        filter.doFilter(post("/api/uploads", new byte[4096], true), response, readingChain());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void shouldFallBackToDefaultLimit() {
+        assertEquals(DataSize.ofKilobytes(1), filter.limit(new MockHttpServletRequest("POST", "/api/bulk/user")));
+    }
+}
@@ -0,0 +1,65 @@
+package com.groupName.artefactName.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class StackTraceSamplerTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final StackTraceSampler sampler = new StackTraceSampler(Duration.ofSeconds(60), reloj::get);
+
+    // La huella incluye los primeros frames, así que un mismo punto de lanzamiento da la misma huella
+    private static RuntimeException fallo() {
+        return new IllegalStateException("boom");
+    }
+
+    private static RuntimeException otroFallo() {
+        return new IllegalArgumentException("boom");
+    }
+
+    @Test
+    void shouldLogFirstOccurrenceInFullThenSuppress() {
+        RuntimeException ex = fallo();
+
+        assertEquals(StackTraceSampler.Decision.FULL, sampler.sample(ex).decision());
+        assertEquals(StackTraceSampler.Decision.SUPPRESSED, sampler.sample(ex).decision());
+        assertEquals(StackTraceSampler.Decision.SUPPRESSED, sampler.sample(ex).decision());
+    }
+
+    @Test
+    void shouldSummarizeRepetitionsOncePerInterval() {
+        RuntimeException ex = fallo();
+        sampler.sample(ex);
+        sampler.sample(ex);
+        sampler.sample(ex);
+
+        reloj.addAndGet(Duration.ofSeconds(61).toNanos());
+        StackTraceSampler.Sample resumen = sampler.sample(ex);
+
+        assertEquals(StackTraceSampler.Decision.SUMMARY, resumen.decision());
+        assertEquals(3, resumen.repeticiones());
+        assertEquals(StackTraceSampler.Decision.SUPPRESSED, sampler.sample(ex).decision());
+    }
+
+    @Test
+    void shouldFingerprintByExceptionTypeAndThrowSite() {
+        List<RuntimeException> mismoOrigen = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            mismoOrigen.add(fallo());
+        }
+        RuntimeException distinto = otroFallo();
+
+        assertEquals(StackTraceSampler.fingerprint(mismoOrigen.get(0)), StackTraceSampler.fingerprint(mismoOrigen.get(1)));
+        assertNotEquals(StackTraceSampler.fingerprint(mismoOrigen.get(0)), StackTraceSampler.fingerprint(distinto));
+        assertEquals(StackTraceSampler.Decision.FULL, sampler.sample(mismoOrigen.get(0)).decision());
+        assertEquals(StackTraceSampler.Decision.SUPPRESSED, sampler.sample(mismoOrigen.get(1)).decision());
+        assertEquals(StackTraceSampler.Decision.FULL, sampler.sample(distinto).decision());
+    }
+}
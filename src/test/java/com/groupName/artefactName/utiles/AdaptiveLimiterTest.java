@@ -0,0 +1,66 @@
+package com.groupName.artefactName.utiles;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimiterTest {
+
+    private static final long RAPIDA = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long LENTA = TimeUnit.MILLISECONDS.toNanos(200);
+
+    // Mantiene el limitador saturado y devuelve una muestra por petición
+    private static void load(AdaptiveLimiter limiter, long rtt, int muestras) {
+        for (int i = 0; i < muestras; i++) {
+            while (limiter.tryAcquire(1.0)) {
+                // llena hasta el límite actual
+            }
+            limiter.onSuccess(rtt);
+        }
+        while (limiter.inFlight() > 0) {
+            limiter.release();
+        }
+    }
+
+    @Test
+    void shouldRejectOnceShareOfLimitIsInUse() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, 1.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(0.5));
+        }
+        assertFalse(limiter.tryAcquire(0.5));
+        assertTrue(limiter.tryAcquire(1.0));
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyGrowsAndRecoverWhenItDrops() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(50, 5, 200, 1.5);
+        load(limiter, RAPIDA, 200);
+        int estable = limiter.limit();
+
+        load(limiter, LENTA, 200);
+        int saturado = limiter.limit();
+        assertTrue(saturado < estable, estable + " -> " + saturado);
+
+        load(limiter, RAPIDA, 400);
+        assertTrue(limiter.limit() > saturado);
+    }
+
+    @Test
+    void shouldBackOffOnOverloadWithinBounds() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 10, 100, 1.5);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire(1.0);
+            limiter.onOverload();
+        }
+
+        assertEquals(10, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+}
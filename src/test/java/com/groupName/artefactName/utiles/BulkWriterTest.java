@@ -0,0 +1,155 @@
+package com.groupName.artefactName.utiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupName.artefactName.dto.BulkItemResult;
+import com.groupName.artefactName.dto.BulkResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkWriterTest {
+
+    public static class Cliente {
+        public Long id;
+        @NotBlank
+        public String nombre;
+        public String correo;
+        public boolean admin;
+    }
+
+    private static final List<String> CAMPOS = List.of("id", "nombre", "correo");
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private PersistenceUnitUtil persistenceUnitUtil;
+
+    private BulkWriter bulkWriter;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        bulkWriter = new BulkWriter(new ObjectMapper(), validator, transactionManager);
+        ReflectionTestUtils.setField(bulkWriter, "entityManager", entityManager);
+        ReflectionTestUtils.setField(bulkWriter, "chunkSize", 2);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        lenient().when(persistenceUnitUtil.getIdentifier(any())).thenAnswer(invocation -> ((Cliente) invocation.getArgument(0)).id);
+        lenient().doAnswer(invocation -> {
+            Cliente cliente = invocation.getArgument(0);
+            if ("duplicado".equals(cliente.nombre)) {
+                throw new PersistenceException("unique constraint");
+            }
+            cliente.id = 100L;
+            return null;
+        }).when(entityManager).persist(any());
+    }
+
+    private BulkResponse write(String body) throws Exception {
+        return bulkWriter.write(Cliente.class, CAMPOS, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldReadNdjsonAndReportInvalidItems() throws Exception {
+        BulkResponse response = write("{\"nombre\":\"ana\"}\n{\"nombre\":\"\"}\n{\"nombre\":\"luis\"}\n");
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getInvalid());
+        assertEquals(List.of(BulkItemResult.Status.CREATED, BulkItemResult.Status.INVALID, BulkItemResult.Status.CREATED),
+                response.getItems().stream().map(BulkItemResult::getStatus).toList());
+        assertEquals(1, response.getItems().get(1).getErrors().size());
+        assertTrue(response.getItems().get(1).getErrors().get(0).startsWith("nombre: "));
+    }
+
+    @Test
+    void shouldIsolateFailingItemWhenChunkFails() throws Exception {
+        BulkResponse response = write("[{\"nombre\":\"ana\"},{\"nombre\":\"duplicado\"},{\"nombre\":\"luis\"}]");
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals(BulkItemResult.Status.FAILED, response.getItems().get(1).getStatus());
+        assertEquals(100L, response.getItems().get(0).getId());
+    }
+
+    @Test
+    void updateShouldPatchOnlyPresentFieldsOfTheLoadedEntity() throws Exception {
+        Cliente existente = new Cliente();
+        existente.id = 5L;
+        existente.nombre = "ana";
+        existente.correo = "ana@example.com";
+        when(entityManager.find(Cliente.class, 5L)).thenReturn(existente);
+
+        BulkResponse response = write("{\"id\":5,\"correo\":\"nueva@example.com\"}");
+
+        assertEquals(1, response.getUpdated());
+        assertEquals("ana", existente.nombre);
+        assertEquals("nueva@example.com", existente.correo);
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void updateOfMissingIdShouldFailInsteadOfInserting() throws Exception {
+        BulkResponse response = write("{\"id\":9,\"nombre\":\"ana\"}");
+
+        assertEquals(1, response.getFailed());
+        assertEquals(0, response.getCreated());
+        assertEquals(List.of("Entity not found: 9"), response.getItems().get(0).getErrors());
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void updateBreakingConstraintsShouldBeDetachedAndReportedInvalid() throws Exception {
+        Cliente existente = new Cliente();
+        existente.id = 5L;
+        existente.nombre = "ana";
+        when(entityManager.find(Cliente.class, 5L)).thenReturn(existente);
+
+        BulkResponse response = write("{\"id\":5,\"nombre\":\"\"}");
+
+        assertEquals(1, response.getInvalid());
+        verify(entityManager).detach(existente);
+    }
+
+    @Test
+    void fieldsOutsideTheAllowListShouldBeRejected() throws Exception {
+        BulkResponse response = write("{\"nombre\":\"ana\",\"admin\":true}");
+
+        assertEquals(1, response.getInvalid());
+        assertEquals(List.of("Field not writable: admin"), response.getItems().get(0).getErrors());
+        verify(entityManager, never()).persist(any());
+    }
+}
@@ -0,0 +1,80 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.DeadlineExceededException;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineQueryListenerTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = ProxyDataSourceBuilder.create(new DriverManagerDataSource("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1", "sa", ""))
+                .listener(new DeadlineQueryListener())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void shouldApplyRemainingTimeAsQueryTimeout() throws Exception {
+        RequestDeadline.start(Duration.ofMillis(2500));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("select 1");
+            assertEquals(3, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void shouldKeepShorterStatementTimeout() throws Exception {
+        RequestDeadline.start(Duration.ofMinutes(5));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            statement.execute("select 1");
+            assertEquals(2, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void shouldRejectStatementsAfterTheDeadline() throws Exception {
+        RequestDeadline.start(Duration.ofNanos(1));
+        Thread.sleep(1);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertThrows(DeadlineExceededException.class, () -> statement.execute("select 1"));
+        }
+    }
+
+    @Test
+    void shouldRejectStatementsOnceCancelled() throws Exception {
+        RequestDeadline deadline = RequestDeadline.start(Duration.ofMinutes(1));
+        deadline.cancel();
+        assertTrue(deadline.isExpired());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            assertThrows(DeadlineExceededException.class, () -> statement.execute("select 1"));
+        }
+    }
+
+    @Test
+    void shouldLeaveStatementsOutsideARequestUntouched() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("select 1");
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.PreconditionFailedException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityVersionsTest {
+
+    @Mock
+    private FilterQueryExecutor filterQueryExecutor;
+
+    @Mock
+    private TypedQuery<Tuple> versionQuery;
+
+    private EntityVersions entityVersions;
+
+    @BeforeEach
+    void setUp() {
+        entityVersions = new EntityVersions(filterQueryExecutor);
+    }
+
+    private static Tuple fila(Object version, Object maxId, long count) {
+        Tuple tuple = mock(Tuple.class);
+        lenient().when(tuple.get(FilterQueryExecutor.VERSION_SELECTION)).thenReturn(version);
+        lenient().when(tuple.get(FilterQueryExecutor.MAX_ID_SELECTION)).thenReturn(maxId);
+        lenient().when(tuple.get(FilterQueryExecutor.COUNT_SELECTION)).thenReturn(count);
+        lenient().when(tuple.get(FilterQueryExecutor.COUNT_SELECTION, Long.class)).thenReturn(count);
+        return tuple;
+    }
+
+    @Test
+    void etagShouldBeHeaderSafeForTimestampVersions() {
+        String etag = EntityVersions.state(fila(Timestamp.valueOf("2024-01-31 10:15:00"), 1L, 1L));
+
+        assertTrue(etag.matches("\"[A-Za-z0-9_-]+\""), etag);
+    }
+
+    @Test
+    void checkIfMatchShouldAcceptCurrentVersionAndRejectStaleOne() {
+        when(filterQueryExecutor.createRecordVersionQuery(String.class, 7)).thenReturn(Optional.of(versionQuery));
+        Tuple fila = fila(2L, 7L, 1L);
+        when(versionQuery.getSingleResult()).thenReturn(fila);
+        String actual = entityVersions.etag(String.class, 7).orElseThrow();
+        String anterior = EntityVersions.state(fila(1L, 7L, 1L));
+
+        assertTrue(actual.startsWith("\""), actual);
+        assertDoesNotThrow(() -> entityVersions.checkIfMatch(String.class, 7, actual));
+        assertDoesNotThrow(() -> entityVersions.checkIfMatch(String.class, 7, anterior + ", " + actual));
+        assertDoesNotThrow(() -> entityVersions.checkIfMatch(String.class, 7, null));
+        assertThrows(PreconditionFailedException.class, () -> entityVersions.checkIfMatch(String.class, 7, anterior));
+    }
+
+    @Test
+    void checkIfMatchShouldCompareStronglyAndNeverMatchWeakEtags() {
+        when(filterQueryExecutor.createRecordVersionQuery(String.class, 7)).thenReturn(Optional.of(versionQuery));
+        Tuple fila = fila(2L, 7L, 1L);
+        when(versionQuery.getSingleResult()).thenReturn(fila);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> entityVersions.checkIfMatch(String.class, 7, "W/" + EntityVersions.state(fila)));
+    }
+
+    @Test
+    void checkIfMatchShouldFailWhenRecordDoesNotExist() {
+        when(filterQueryExecutor.createRecordVersionQuery(String.class, 9)).thenReturn(Optional.of(versionQuery));
+        Tuple fila = fila(null, null, 0L);
+        when(versionQuery.getSingleResult()).thenReturn(fila);
+
+        assertThrows(PreconditionFailedException.class, () -> entityVersions.checkIfMatch(String.class, 9, "*"));
+    }
+}
@@ -0,0 +1,233 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.ExportJobProperties;
+import com.groupName.artefactName.config.ExportProperties;
+import com.groupName.artefactName.utiles.ExportJobStore.ExportJob;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    private static final String NODO = "nodo-1";
+    private static final Map<String, String> FILTROS = Map.of("denomination", "ana");
+    private static final List<String> COLUMNAS = List.of("id");
+
+    @TempDir
+    Path directorio;
+
+    @Mock
+    private FilterQueryExecutor filterQueryExecutor;
+
+    @Mock
+    private FilterExportWriter filterExportWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private ExportJobStore store;
+    private ExportJobService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:exportservice" + System.nanoTime()
+                + ";DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:init.sql'", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        store = new ExportJobStore(dataSource);
+        ExportJobProperties properties = new ExportJobProperties();
+        properties.setDirectory(directorio);
+        properties.setChunkSize(2);
+        properties.setWorkers(1);
+        properties.setNode(NODO);
+        service = new ExportJobService(properties, new ExportProperties(), store, filterQueryExecutor, filterExportWriter, transactionManager);
+
+        lenient().doReturn(String.class).when(filterQueryExecutor).resolveEntityClass("user");
+        lenient().when(filterQueryExecutor.validateFields(String.class, COLUMNAS)).thenReturn(COLUMNAS);
+        // Cabecera "h" y una línea "r<id>" por fila
+        lenient().doAnswer(invocation -> {
+            Iterator<Tuple> filas = invocation.getArgument(1);
+            OutputStream out = invocation.getArgument(4);
+            if (invocation.<Boolean>getArgument(3)) {
+                out.write("h\n".getBytes(StandardCharsets.UTF_8));
+            }
+            long total = 0;
+            while (filas.hasNext()) {
+                out.write(("r" + filas.next().get(FilterQueryExecutor.KEYSET_SELECTION) + "\n").getBytes(StandardCharsets.UTF_8));
+                total++;
+            }
+            return total;
+        }).when(filterExportWriter).write(anyList(), any(), any(), anyBoolean(), any());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldWriteOneGzipMemberPerChunkAndRecordProgress() throws Exception {
+        TypedQuery<Long> count = countQuery(3L);
+        when(filterQueryExecutor.createCountQuery(String.class, FILTROS)).thenReturn(count);
+        TypedQuery<Tuple> primero = keysetQuery(1L, 2L);
+        TypedQuery<Tuple> segundo = keysetQuery(3L);
+        when(filterQueryExecutor.createKeysetQuery(eq(String.class), eq(COLUMNAS), eq(FILTROS), isNull(), eq(2))).thenReturn(primero);
+        when(filterQueryExecutor.createKeysetQuery(String.class, COLUMNAS, FILTROS, "2", 2)).thenReturn(segundo);
+        String id = insert(0, 0, null, null);
+
+        service.run(id);
+
+        ExportJob job = store.find(id).orElseThrow();
+        assertEquals(ExportJobStatus.COMPLETED, job.status());
+        assertEquals(3, job.rowsWritten());
+        assertEquals(3L, job.totalRows());
+        assertEquals("3", job.lastId());
+        assertEquals(Files.size(service.file(id)), job.bytesWritten());
+        assertEquals("h\nr1\nr2\nr3\n", gunzip(service.file(id)));
+        assertFalse(Files.exists(directorio.resolve(id + ".part")));
+    }
+
+    @Test
+    void shouldResumeFromLastCommittedChunkDiscardingPartialOutput() throws Exception {
+        String id = UUID.randomUUID().toString();
+        byte[] confirmado = gzip("h\nr1\nr2\n");
+        Path parcial = directorio.resolve(id + ".part");
+        Files.write(parcial, confirmado);
+        // Restos de un bloque que no llegó a confirmarse antes de la caída
+        Files.write(parcial, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+        TypedQuery<Tuple> siguiente = keysetQuery(3L);
+        when(filterQueryExecutor.createKeysetQuery(String.class, COLUMNAS, FILTROS, "2", 2)).thenReturn(siguiente);
+        insert(id, 2, confirmado.length, "2", 3L);
+
+        service.run(id);
+
+        verify(filterQueryExecutor, never()).createKeysetQuery(eq(String.class), eq(COLUMNAS), eq(FILTROS), isNull(), eq(2));
+        verify(filterQueryExecutor, never()).createCountQuery(String.class, FILTROS);
+        assertEquals(ExportJobStatus.COMPLETED, store.find(id).orElseThrow().status());
+        assertEquals("h\nr1\nr2\nr3\n", gunzip(service.file(id)));
+    }
+
+    @Test
+    void shouldMarkJobFailedAndRemovePartialFileOnError() throws Exception {
+        TypedQuery<Long> count = countQuery(3L);
+        when(filterQueryExecutor.createCountQuery(String.class, FILTROS)).thenReturn(count);
+        when(filterQueryExecutor.createKeysetQuery(eq(String.class), eq(COLUMNAS), eq(FILTROS), isNull(), eq(2)))
+                .thenThrow(new IllegalStateException("boom"));
+        String id = insert(0, 0, null, null);
+
+        service.run(id);
+
+        ExportJob job = store.find(id).orElseThrow();
+        assertEquals(ExportJobStatus.FAILED, job.status());
+        assertEquals("boom", job.error());
+        assertFalse(Files.exists(directorio.resolve(id + ".part")));
+        assertTrue(Files.notExists(service.file(id)));
+    }
+
+    @Test
+    void scheduledPurgeShouldRemoveExpiredJobsAndTheirFiles() throws Exception {
+        String caducado = insert(0, 0, null, null);
+        String reciente = insert(0, 0, null, null);
+        store.complete(caducado);
+        store.complete(reciente);
+        Files.write(service.file(caducado), gzip("h\n"));
+        Files.write(service.file(reciente), gzip("h\n"));
+        jdbcTemplate.update("UPDATE " + ExportJobStore.TABLE + " SET updated_at = 0 WHERE id = ?", caducado);
+
+        service.purgeExpired();
+
+        assertTrue(store.find(caducado).isEmpty());
+        assertTrue(Files.notExists(service.file(caducado)));
+        assertTrue(store.find(reciente).isPresent());
+        assertTrue(Files.exists(service.file(reciente)));
+    }
+
+    private String insert(long filas, long bytes, String ultimoId, Long total) {
+        String id = UUID.randomUUID().toString();
+        insert(id, filas, bytes, ultimoId, total);
+        return id;
+    }
+
+    private void insert(String id, long filas, long bytes, String ultimoId, Long total) {
+        store.insert(new ExportJob(id, "ana", NODO, "user", FILTROS, COLUMNAS, ExportFormat.CSV, ExportJobStatus.QUEUED,
+                0, null, 0, null, null, 1, 1));
+        if (total != null) {
+            store.total(id, total);
+        }
+        store.progress(id, filas, bytes, ultimoId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypedQuery<Long> countQuery(long total) {
+        TypedQuery<Long> query = mock(TypedQuery.class);
+        when(query.getSingleResult()).thenReturn(total);
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypedQuery<Tuple> keysetQuery(Long... ids) {
+        TypedQuery<Tuple> query = mock(TypedQuery.class);
+        List<Tuple> filas = new ArrayList<>();
+        for (Long id : ids) {
+            Tuple fila = mock(Tuple.class);
+            when(fila.get(FilterQueryExecutor.KEYSET_SELECTION)).thenReturn(id);
+            filas.add(fila);
+        }
+        when(query.getResultList()).thenReturn(filas);
+        return query;
+    }
+
+    private static byte[] gzip(String texto) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(texto.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    // GZIPInputStream lee todos los miembros concatenados
+    private static String gunzip(Path fichero) throws Exception {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(fichero))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.utiles.ExportJobStore.ExportJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportJobStoreTest {
+
+    private ExportJobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ExportJobStore(new DriverManagerDataSource("jdbc:h2:mem:exportjobs" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:init.sql'", "sa", ""));
+    }
+
+    @Test
+    void shouldPersistFiltersFieldsAndProgress() {
+        store.insert(queued("a", "nodo-1"));
+        assertTrue(store.claim("a", "nodo-1"));
+        store.total("a", 12);
+        store.progress("a", 5, 321, "5");
+
+        ExportJob job = store.find("a").orElseThrow();
+        assertEquals(ExportJobStatus.RUNNING, job.status());
+        assertEquals(Map.of("denomination", "ana"), job.filters());
+        assertEquals(List.of("id", "correo"), job.fields());
+        assertEquals(ExportFormat.CSV, job.format());
+        assertEquals(12L, job.totalRows());
+        assertEquals(5, job.rowsWritten());
+        assertEquals(321, job.bytesWritten());
+        assertEquals("5", job.lastId());
+    }
+
+    @Test
+    void shouldOnlyClaimAndResumeJobsOfTheSameNode() {
+        store.insert(queued("a", "nodo-1"));
+        store.insert(queued("b", "nodo-2"));
+
+        assertFalse(store.claim("b", "nodo-1"));
+        assertEquals(List.of("a"), store.findUnfinished("nodo-1").stream().map(ExportJob::id).toList());
+
+        store.complete("a");
+        assertFalse(store.claim("a", "nodo-1"));
+        assertTrue(store.findUnfinished("nodo-1").isEmpty());
+    }
+
+    @Test
+    void shouldKeepTotalNullUntilCountedAndTruncateLongErrors() {
+        store.insert(queued("a", "nodo-1"));
+        assertNull(store.find("a").orElseThrow().totalRows());
+
+        store.fail("a", "x".repeat(5000));
+        ExportJob job = store.find("a").orElseThrow();
+        assertEquals(ExportJobStatus.FAILED, job.status());
+        assertEquals(1000, job.error().length());
+    }
+
+    @Test
+    void shouldPurgeOnlyFinishedJobsOlderThanRetention() {
+        store.insert(queued("a", "nodo-1"));
+        store.insert(queued("b", "nodo-1"));
+        store.complete("a");
+
+        assertTrue(store.purgeFinished("nodo-1", 0).isEmpty());
+        assertEquals(List.of("a"), store.purgeFinished("nodo-1", Long.MAX_VALUE));
+        assertTrue(store.find("a").isEmpty());
+        assertTrue(store.find("b").isPresent());
+    }
+
+    private static ExportJob queued(String id, String nodo) {
+        return new ExportJob(id, "ana", nodo, "user", Map.of("denomination", "ana"), List.of("id", "correo"), ExportFormat.CSV,
+                ExportJobStatus.QUEUED, 0, null, 0, null, null, 1, 1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.OneToMany;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FetchPlannerTest {
+
+    @Entity(name = "PlanPais")
+    @NamedEntityGraph(name = "PlanPais.basico")
+    static class Pais {
+        @Id
+        Long id;
+    }
+
+    @Entity(name = "PlanPedido")
+    static class Pedido {
+        @Id
+        Long id;
+        @ManyToOne
+        Cliente cliente;
+    }
+
+    @Entity(name = "PlanCliente")
+    @NamedEntityGraph(name = "PlanCliente.completo", attributeNodes = {
+            @NamedAttributeNode("pais"),
+            @NamedAttributeNode("pedidos")
+    })
+    static class Cliente {
+        @Id
+        Long id;
+        @ManyToOne
+        Pais pais;
+        @OneToMany(mappedBy = "cliente")
+        List<Pedido> pedidos;
+    }
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private FetchPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Pais.class)
+                .addAnnotatedClass(Pedido.class)
+                .addAnnotatedClass(Cliente.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:fetchplanner" + System.nanoTime() + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        planner = new FetchPlanner();
+        ReflectionTestUtils.setField(planner, "entityManager", entityManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    void namedGraphShouldJoinToOneAndBatchCollections() {
+        FetchPlanner.FetchPlan plan = planner.plan(Cliente.class, "PlanCliente.completo", List.of());
+
+        // "pais" llega con la consulta; "pedidos" se carga después por lotes
+        assertEquals(List.of("pais"), plan.graph().getAttributeNodes().stream()
+                .map(nodo -> nodo.getAttributeName())
+                .toList());
+        assertEquals(List.of("pedidos"), plan.collections());
+    }
+
+    @Test
+    void namedGraphOfAnotherEntityShouldBeRejected() {
+        BusinessLogicException error = assertThrows(BusinessLogicException.class,
+                () -> planner.plan(Cliente.class, "PlanPais.basico", List.of()));
+
+        assertEquals("Unknown entity graph: PlanPais.basico", error.getMessage());
+    }
+}
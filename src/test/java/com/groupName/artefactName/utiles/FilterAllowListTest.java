@@ -0,0 +1,136 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.FilterProperties;
+import com.groupName.artefactName.dto.PageResponse;
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FilterAllowListTest {
+
+    @Getter
+    @Setter
+    @Entity(name = "AllowEmpresa")
+    static class Empresa {
+        @Id
+        Long id;
+        String nombre;
+        String cif;
+    }
+
+    @Getter
+    @Setter
+    @Entity(name = "AllowUsuario")
+    static class Usuario {
+        @Id
+        Long id;
+        String nombre;
+        String password;
+        @ManyToOne
+        Empresa empresa;
+    }
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private FilterAllowList allowList;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Empresa.class)
+                .addAnnotatedClass(Usuario.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:filterallowlist" + System.nanoTime() + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        FilterProperties properties = new FilterProperties();
+        properties.setEntities(Map.of("allowusuario", List.of("id", "nombre"), "AllowEmpresa", List.of("id", "nombre")));
+        properties.setExpand(Map.of("AllowUsuario", List.of("empresa")));
+        allowList = new FilterAllowList(properties);
+        ReflectionTestUtils.setField(allowList, "entityManager", entityManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    void columnsShouldDefaultToTheAllowedOnes() {
+        assertEquals(List.of("id", "nombre"),
+                allowList.columns(Usuario.class, List.of(), Map.of("nombre.like", "an"), Sort.by("id"), List.of("empresa")));
+        assertEquals(List.of("nombre"), allowList.columns(Usuario.class, List.of("nombre"), Map.of(), Sort.unsorted(), List.of()));
+    }
+
+    @Test
+    void hiddenColumnsShouldNotBeSelectedFilteredOrSorted() {
+        assertThrows(BusinessLogicException.class,
+                () -> allowList.columns(Usuario.class, List.of("password"), Map.of(), Sort.unsorted(), List.of()));
+        assertThrows(BusinessLogicException.class,
+                () -> allowList.columns(Usuario.class, List.of(), Map.of("password.gt", "a"), Sort.unsorted(), List.of()));
+        assertThrows(BusinessLogicException.class,
+                () -> allowList.columns(Usuario.class, List.of(), Map.of(), Sort.by("password"), List.of()));
+    }
+
+    @Test
+    void expandShouldOnlyFollowAllowedAssociations() {
+        assertThrows(BusinessLogicException.class,
+                () -> allowList.columns(Empresa.class, List.of(), Map.of(), Sort.unsorted(), List.of("usuarios")));
+        assertThrows(BusinessLogicException.class,
+                () -> allowList.columns(Usuario.class, List.of(), Map.of(), Sort.unsorted(), List.of("empresa.usuarios")));
+    }
+
+    @Test
+    void unlistedEntityShouldLookMissing() {
+        FilterAllowList vacia = new FilterAllowList(new FilterProperties());
+        ReflectionTestUtils.setField(vacia, "entityManager", entityManager);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> vacia.columns(Usuario.class, List.of(), Map.of(), Sort.unsorted(), List.of()));
+    }
+
+    @Test
+    void viewShouldSerializeOnlyAllowedColumnsOfEachEntity() {
+        Empresa empresa = new Empresa();
+        empresa.setId(7L);
+        empresa.setNombre("acme");
+        empresa.setCif("B123");
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNombre("ana");
+        usuario.setPassword("secreto");
+        usuario.setEmpresa(empresa);
+        PageResponse<Usuario> pagina = PageResponse.<Usuario>builder()
+                .content(List.of(usuario))
+                .size(20)
+                .total(1L)
+                .totalMode(PagingMode.EXACT)
+                .build();
+
+        PageResponse<Map<String, Object>> vista = allowList.view(pagina, List.of("id", "nombre"), List.of("empresa"));
+
+        assertEquals(List.of(Map.of("id", 1L, "nombre", "ana", "empresa", Map.of("id", 7L, "nombre", "acme"))), vista.getContent());
+        assertEquals(1L, vista.getTotal());
+        assertEquals(PagingMode.EXACT, vista.getTotalMode());
+    }
+}
@@ -0,0 +1,26 @@
+package com.groupName.artefactName.utiles;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FilterExportWriterTest {
+
+    @Test
+    void escapeCsvShouldLeavePlainValuesUntouched() {
+        assertEquals("Juan Perez", FilterExportWriter.escapeCsv("Juan Perez"));
+    }
+
+    @Test
+    void escapeCsvShouldQuoteSeparatorsAndDoubleQuotes() {
+        assertEquals("\"Perez, Juan\"", FilterExportWriter.escapeCsv("Perez, Juan"));
+        assertEquals("\"di \"\"hola\"\"\"", FilterExportWriter.escapeCsv("di \"hola\""));
+        assertEquals("\"linea1\nlinea2\"", FilterExportWriter.escapeCsv("linea1\nlinea2"));
+    }
+
+    @Test
+    void exportFormatShouldBeCaseInsensitive() {
+        assertEquals(ExportFormat.CSV, ExportFormat.from("csv"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.from("NDJSON"));
+    }
+}
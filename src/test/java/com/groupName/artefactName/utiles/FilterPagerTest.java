@@ -0,0 +1,141 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.dto.PageResponse;
+import com.groupName.artefactName.exceptions.BusinessLogicException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FilterPagerTest {
+
+    private static final Map<String, String> FILTROS = Map.of("nombre", "ana");
+
+    @Mock
+    private FilterQueryExecutor filterQueryExecutor;
+
+    @Mock
+    private FetchPlanner fetchPlanner;
+
+    @Mock
+    private TypedQuery<String> query;
+
+    @Mock
+    private TypedQuery<Long> countQuery;
+
+    private FilterPager filterPager;
+
+    @Mock
+    private TypedQuery<Tuple> tupleQuery;
+
+    @BeforeEach
+    void setUp() {
+        filterPager = new FilterPager(filterQueryExecutor, fetchPlanner, DatabaseType.H2);
+        ReflectionTestUtils.setField(filterPager, "countTtl", Duration.ofMinutes(1));
+        lenient().when(filterQueryExecutor.createQuery(String.class, FILTROS, Sort.unsorted())).thenReturn(query);
+        lenient().when(query.setFirstResult(anyInt())).thenReturn(query);
+        lenient().when(query.setMaxResults(anyInt())).thenReturn(query);
+        lenient().when(filterQueryExecutor.createCountQuery(String.class, FILTROS)).thenReturn(countQuery);
+        lenient().when(countQuery.getSingleResult()).thenReturn(42L);
+    }
+
+    @Test
+    void hasNextModeShouldFetchOneExtraRowAndSkipCount() {
+        when(query.getResultList()).thenReturn(List.of("a", "b", "c"));
+
+        PageResponse<String> page = filterPager.findPage(String.class, FILTROS, Sort.unsorted(), 0, 2, PagingMode.HAS_NEXT);
+
+        verify(query).setMaxResults(3);
+        assertEquals(List.of("a", "b"), page.getContent());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotal());
+        verify(filterQueryExecutor, never()).createCountQuery(String.class, FILTROS);
+    }
+
+    @Test
+    void lastPageShouldDeduceTotalWithoutCounting() {
+        when(query.getResultList()).thenReturn(List.of("c"));
+
+        PageResponse<String> page = filterPager.findPage(String.class, FILTROS, Sort.unsorted(), 1, 2, PagingMode.EXACT);
+
+        assertFalse(page.isHasNext());
+        assertEquals(3L, page.getTotal());
+        verify(filterQueryExecutor, never()).createCountQuery(String.class, FILTROS);
+    }
+
+    @Test
+    void cachedModeShouldCountOnceWithinTtl() {
+        when(query.getResultList()).thenReturn(List.of("a", "b", "c"));
+
+        filterPager.findPage(String.class, FILTROS, Sort.unsorted(), 0, 2, PagingMode.CACHED);
+        PageResponse<String> page = filterPager.findPage(String.class, FILTROS, Sort.unsorted(), 0, 2, PagingMode.CACHED);
+
+        assertEquals(42L, page.getTotal());
+        verify(countQuery, times(1)).getSingleResult();
+    }
+
+    @Test
+    void cachedTotalsShouldNotCollideOnFilterValuesThatLookLikeSeveralFilters() {
+        Map<String, String> uno = Map.of("a", "1, b=2");
+        Map<String, String> dos = Map.of("a", "1", "b", "2");
+        for (Map<String, String> filtros : List.of(uno, dos)) {
+            when(filterQueryExecutor.createQuery(String.class, filtros, Sort.unsorted())).thenReturn(query);
+            when(filterQueryExecutor.createCountQuery(String.class, filtros)).thenReturn(countQuery);
+        }
+        when(query.getResultList()).thenReturn(List.of("a", "b", "c"));
+
+        filterPager.findPage(String.class, uno, Sort.unsorted(), 0, 2, PagingMode.CACHED);
+        filterPager.findPage(String.class, dos, Sort.unsorted(), 0, 2, PagingMode.CACHED);
+
+        verify(countQuery, times(2)).getSingleResult();
+    }
+
+    @Test
+    void fieldsShouldProjectTuplesIntoOrderedMaps() {
+        List<String> campos = List.of("id", "nombre");
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get(0)).thenReturn(7L);
+        when(tuple.get(1)).thenReturn("ana");
+        when(filterQueryExecutor.validateFields(String.class, campos)).thenReturn(campos);
+        when(filterQueryExecutor.createTupleQuery(String.class, campos, FILTROS, Sort.unsorted())).thenReturn(tupleQuery);
+        when(tupleQuery.setFirstResult(anyInt())).thenReturn(tupleQuery);
+        when(tupleQuery.setMaxResults(anyInt())).thenReturn(tupleQuery);
+        when(tupleQuery.getResultList()).thenReturn(List.of(tuple));
+
+        PageResponse<Map<String, Object>> page = filterPager.findPage(String.class, FILTROS, Sort.unsorted(), campos, 0, 20, PagingMode.HAS_NEXT);
+
+        assertEquals(List.of(Map.of("id", 7L, "nombre", "ana")), page.getContent());
+        assertEquals(List.of("id", "nombre"), List.copyOf(page.getContent().get(0).keySet()));
+    }
+
+    @Test
+    void pageBeyondIntOffsetShouldBeRejected() {
+        assertThrows(BusinessLogicException.class,
+                () -> filterPager.findPage(String.class, FILTROS, Sort.unsorted(), Integer.MAX_VALUE / 10, 20, PagingMode.HAS_NEXT));
+
+        verify(query, never()).setFirstResult(anyInt());
+    }
+}
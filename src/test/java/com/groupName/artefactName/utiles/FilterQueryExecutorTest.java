@@ -0,0 +1,139 @@
+package com.groupName.artefactName.utiles;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.groupName.artefactName.config.TextSearchProperties;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FilterQueryExecutorTest {
+
+    @Entity(name = "Cliente")
+    static class Cliente {
+        @Id
+        Long id;
+        String nombre;
+        @Version
+        Long version;
+
+        Cliente() {
+        }
+
+        Cliente(Long id, String nombre) {
+            this.id = id;
+            this.nombre = nombre;
+        }
+    }
+
+    private final List<String> sentencias = new CopyOnWriteArrayList<>();
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private FilterQueryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Cliente.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:filterexecutor" + System.nanoTime() + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop");
+        configuration.setStatementInspector(sql -> {
+            sentencias.add(sql);
+            return sql;
+        });
+        sessionFactory = configuration.buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            session.persist(new Cliente(1L, "ana"));
+            session.persist(new Cliente(2L, "luis"));
+        });
+        // Delegado espiable: permite capturar el CriteriaQuery que recibe el EntityManager real
+        entityManager = Mockito.mock(EntityManager.class, AdditionalAnswers.delegatesTo(sessionFactory.createEntityManager()));
+        executor = new FilterQueryExecutor(new FilterTypeInferer(new TextSearchProperties(), DatabaseType.H2, null));
+        ReflectionTestUtils.setField(executor, "entityManager", entityManager);
+        sentencias.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void requestsDifferingOnlyInValuesShouldReuseCriteriaAndSql() {
+        List<Cliente> ana = executor.createQuery(Cliente.class, Map.of("nombre", "ana", "id", "1"), Sort.by("nombre")).getResultList();
+        List<Cliente> luis = executor.createQuery(Cliente.class, Map.of("nombre", "luis", "id", "2"), Sort.by("nombre")).getResultList();
+
+        ArgumentCaptor<CriteriaQuery> criteria = ArgumentCaptor.forClass(CriteriaQuery.class);
+        verify(entityManager, times(2)).createQuery(criteria.capture());
+        assertSame(criteria.getAllValues().get(0), criteria.getAllValues().get(1));
+
+        List<String> selects = sentencias.stream().filter(sql -> sql.startsWith("select")).toList();
+        assertEquals(2, selects.size());
+        assertEquals(selects.get(0), selects.get(1));
+        // Los valores van como parámetros, no como literales en el SQL
+        assertTrue(selects.get(0).contains("?"));
+        assertFalse(selects.get(0).contains("ana"));
+        assertEquals(1L, ana.get(0).id);
+        assertEquals(2L, luis.get(0).id);
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void differentOperatorsShouldCompileSeparateCriteria() {
+        executor.createQuery(Cliente.class, Map.of("nombre", "ana"), Sort.unsorted());
+        executor.createQuery(Cliente.class, Map.of("id", "1"), Sort.unsorted());
+
+        ArgumentCaptor<CriteriaQuery> criteria = ArgumentCaptor.forClass(CriteriaQuery.class);
+        verify(entityManager, times(2)).createQuery(criteria.capture());
+        assertNotSame(criteria.getAllValues().get(0), criteria.getAllValues().get(1));
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void planCacheShouldKeepAdmittingNewShapesOnceFull() {
+        for (int i = 0; i < FilterQueryExecutor.MAX_CACHED_SHAPES * 2; i++) {
+            executor.compiled(FilterQueryShape.of(Cliente.class, "relleno" + i, List.of(), Sort.unsorted()), () -> Mockito.mock(CriteriaQuery.class));
+        }
+        FilterQueryShape nueva = FilterQueryShape.of(Cliente.class, "nueva", List.of(), Sort.unsorted());
+        CriteriaQuery primera = executor.compiled(nueva, () -> Mockito.mock(CriteriaQuery.class));
+
+        assertSame(primera, executor.compiled(nueva, () -> Mockito.mock(CriteriaQuery.class)));
+        Cache<?, ?> planCache = (Cache<?, ?>) ReflectionTestUtils.getField(executor, "planCache");
+        planCache.cleanUp();
+        assertTrue(planCache.estimatedSize() <= FilterQueryExecutor.MAX_CACHED_SHAPES);
+    }
+
+    @Test
+    void recordVersionQueryShouldMatchTheIdByEquality() {
+        executor.createRecordVersionQuery(Cliente.class, 1L).orElseThrow().getSingleResult();
+
+        String select = sentencias.stream().filter(sql -> sql.startsWith("select")).findFirst().orElseThrow();
+        assertTrue(select.contains("id=?"), select);
+        assertFalse(select.contains("like"), select);
+    }
+}
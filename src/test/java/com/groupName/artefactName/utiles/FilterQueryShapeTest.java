@@ -0,0 +1,42 @@
+package com.groupName.artefactName.utiles;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class FilterQueryShapeTest {
+
+    @Test
+    void shouldIgnoreValuesWhenComparingShapes() {
+        FilterQueryShape first = FilterQueryShape.of(Object.class,
+                List.of(new FilterCondition("nombre", FilterOperator.CONTAINS, "%ana%"),
+                        new FilterCondition("id", FilterOperator.EQUAL, 1L)),
+                Sort.by("nombre"));
+        FilterQueryShape second = FilterQueryShape.of(Object.class,
+                List.of(new FilterCondition("nombre", FilterOperator.CONTAINS, "%luis%"),
+                        new FilterCondition("id", FilterOperator.EQUAL, 99L)),
+                Sort.by("nombre"));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void shouldDistinguishOperatorsAndSort() {
+        List<FilterCondition> contains = List.of(new FilterCondition("nombre", FilterOperator.CONTAINS, "%ana%"));
+        List<FilterCondition> prefix = List.of(new FilterCondition("nombre", FilterOperator.PREFIX, "ana%"));
+
+        assertNotEquals(FilterQueryShape.of(Object.class, contains, Sort.unsorted()), FilterQueryShape.of(Object.class, prefix, Sort.unsorted()));
+        assertNotEquals(FilterQueryShape.of(Object.class, contains, Sort.by("id")), FilterQueryShape.of(Object.class, contains, Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Test
+    void parameterTypeShouldFollowOperator() {
+        assertEquals(String.class, new FilterCondition("nombre", FilterOperator.PREFIX, "a%").parameterType());
+        assertEquals(Long.class, new FilterCondition("id", FilterOperator.EQUAL, 1L).parameterType());
+    }
+}
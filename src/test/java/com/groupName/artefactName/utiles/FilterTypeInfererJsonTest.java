@@ -0,0 +1,82 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.TextSearchProperties;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.SqlTypes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FilterTypeInfererJsonTest {
+
+    static class Documento {
+        @JdbcTypeCode(SqlTypes.JSON)
+        private String metadata;
+        private String nombre;
+    }
+
+    @Mock
+    private EntityType<Object> entityType;
+
+    @Mock
+    private SingularAttribute<Object, String> metadataAttribute;
+
+    @Mock
+    private SingularAttribute<Object, String> nombreAttribute;
+
+    private final FilterTypeInferer filterTypeInferer = new FilterTypeInferer(new TextSearchProperties(), DatabaseType.POSTGRESQL, null);
+
+    @BeforeEach
+    void setUp() throws NoSuchFieldException {
+        lenient().when(entityType.getDeclaredSingularAttribute("metadata")).thenReturn((SingularAttribute) metadataAttribute);
+        lenient().when(metadataAttribute.getJavaType()).thenReturn(String.class);
+        lenient().when(metadataAttribute.getJavaMember()).thenReturn(Documento.class.getDeclaredField("metadata"));
+    }
+
+    @Test
+    void pathFilterShouldBecomeContainmentFragment() {
+        FilterCondition condicion = filterTypeInferer.inferCondition(entityType, "metadata.address.city", "Lima");
+
+        assertEquals(FilterOperator.JSON_CONTAINS, condicion.operator());
+        assertEquals("metadata", condicion.column());
+        assertEquals("{\"address\":{\"city\":\"Lima\"}}", condicion.value());
+    }
+
+    @Test
+    void pathFilterShouldKeepJsonLiteralTypes() {
+        assertEquals("{\"zip\":15001}", filterTypeInferer.inferCondition(entityType, "metadata.zip", "15001").value());
+        assertEquals("{\"zip\":\"15001\"}", filterTypeInferer.inferCondition(entityType, "metadata.zip", "\"15001\"").value());
+    }
+
+    @Test
+    void columnFilterShouldRequireJsonDocument() {
+        assertEquals("{\"active\":true}", filterTypeInferer.inferCondition(entityType, "metadata", "{\"active\": true}").value());
+        assertNull(filterTypeInferer.inferCondition(entityType, "metadata", "Lima"));
+    }
+
+    @Test
+    void pathOnNonJsonAttributeShouldBeRejected() throws NoSuchFieldException {
+        when(entityType.getDeclaredSingularAttribute("nombre")).thenReturn((SingularAttribute) nombreAttribute);
+        when(nombreAttribute.getJavaType()).thenReturn(String.class);
+        when(nombreAttribute.getJavaMember()).thenReturn(Documento.class.getDeclaredField("nombre"));
+
+        assertThrows(IllegalArgumentException.class, () -> filterTypeInferer.inferCondition(entityType, "nombre.x", "1"));
+    }
+
+    @Test
+    void postgresContainmentShouldCastTheColumnSoJsonColumnsWork() {
+        assertEquals("(cast(?1 as jsonb) @> cast(?2 as jsonb))", FullTextFunctionContributor.jsonContainsPattern(new PostgreSQLDialect()));
+    }
+}
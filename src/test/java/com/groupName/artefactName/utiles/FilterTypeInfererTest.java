@@ -1,5 +1,6 @@
 package com.groupName.artefactName.utiles;
 
+import com.groupName.artefactName.config.TextSearchProperties;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -54,6 +56,9 @@ class FilterTypeInfererTest {
     @Mock
     private SingularAttribute<Object, LocalDateTime> localDateTimeAttribute;
 
+    @Spy
+    private TextSearchProperties textSearchProperties = new TextSearchProperties();
+
     @InjectMocks
     private FilterTypeInferer filterTypeInferer;
 
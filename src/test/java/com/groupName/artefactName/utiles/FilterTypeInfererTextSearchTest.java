@@ -0,0 +1,121 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.TextSearchProperties;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FilterTypeInfererTextSearchTest {
+
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+
+    @Mock
+    private Root<Object> root;
+
+    @Mock
+    private EntityType<Object> entityType;
+
+    @Mock
+    private SingularAttribute<Object, String> stringAttribute;
+
+    @Mock
+    private H2FullTextIndex h2FullTextIndex;
+
+    private TextSearchProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TextSearchProperties();
+        lenient().when(entityType.getName()).thenReturn("Cliente");
+        when(entityType.getDeclaredSingularAttribute("nombre")).thenReturn((SingularAttribute) stringAttribute);
+        when(stringAttribute.getJavaType()).thenReturn(String.class);
+        lenient().when(root.get("nombre")).thenReturn(Mockito.mock(Path.class));
+    }
+
+    @Test
+    void shouldCreatePrefixPredicateWithEscapedWildcards() {
+        properties.getAttributes().put("Cliente.nombre", TextSearchMode.PREFIX);
+        when(criteriaBuilder.like(Mockito.<Expression<String>>any(), Mockito.anyString(), Mockito.anyChar())).thenReturn(Mockito.mock(Predicate.class));
+
+        Predicate predicate = new FilterTypeInferer(properties, DatabaseType.POSTGRESQL, h2FullTextIndex)
+                .inferPredicate(criteriaBuilder, root, "nombre", "50%_off", entityType);
+
+        assertNotNull(predicate);
+        Mockito.verify(criteriaBuilder).like(Mockito.<Expression<String>>any(), Mockito.eq("50\\%\\_off%"), Mockito.eq('\\'));
+    }
+
+    @Test
+    void shouldLowerColumnAndValueForIgnoreCase() {
+        properties.setDefaultMode(TextSearchMode.IGNORE_CASE);
+        Expression<String> lowered = Mockito.mock(Expression.class);
+        when(criteriaBuilder.lower(Mockito.any())).thenReturn(lowered);
+        when(criteriaBuilder.like(Mockito.eq(lowered), Mockito.anyString(), Mockito.anyChar())).thenReturn(Mockito.mock(Predicate.class));
+
+        Predicate predicate = new FilterTypeInferer(properties, DatabaseType.POSTGRESQL, h2FullTextIndex)
+                .inferPredicate(criteriaBuilder, root, "nombre", "PéREZ", entityType);
+
+        assertNotNull(predicate);
+        Mockito.verify(criteriaBuilder).like(lowered, "pérez%", '\\');
+    }
+
+    @Test
+    void shouldQueryNativeIndexKeysForFullTextOnH2() {
+        properties.getAttributes().put("Cliente.nombre", TextSearchMode.FULL_TEXT);
+        SingularAttribute idAttribute = Mockito.mock(SingularAttribute.class);
+        Type idType = Mockito.mock(Type.class);
+        Path idPath = Mockito.mock(Path.class);
+        Expression<String> texto = Mockito.mock(Expression.class);
+        Expression<String> tabla = Mockito.mock(Expression.class);
+        Expression<Boolean> match = Mockito.mock(Expression.class);
+        Predicate predicate = Mockito.mock(Predicate.class);
+        when(root.getModel()).thenReturn(entityType);
+        when(entityType.getIdType()).thenReturn(idType);
+        when(idType.getJavaType()).thenReturn(Long.class);
+        when(entityType.getId(Long.class)).thenReturn(idAttribute);
+        when(idAttribute.getName()).thenReturn("id");
+        when(root.get("id")).thenReturn(idPath);
+        when(h2FullTextIndex.tableName(entityType)).thenReturn("CLIENTE");
+        // El texto buscado y la tabla indexada llegan como literales a FT_SEARCH_DATA
+        when(criteriaBuilder.literal(Mockito.anyString())).thenAnswer(invocation ->
+                "CLIENTE".equals(invocation.getArgument(0)) ? tabla : texto);
+        when(criteriaBuilder.function(Mockito.eq(FullTextFunctionContributor.FULL_TEXT_KEYS_FUNCTION_NAME), Mockito.eq(Boolean.class),
+                Mockito.eq(idPath), Mockito.eq(texto), Mockito.eq(tabla))).thenReturn(match);
+        when(criteriaBuilder.isTrue(match)).thenReturn(predicate);
+
+        assertSame(predicate, new FilterTypeInferer(properties, DatabaseType.H2, h2FullTextIndex)
+                .inferPredicate(criteriaBuilder, root, "nombre", "juan perez", entityType));
+        Mockito.verify(criteriaBuilder).literal("juan perez");
+        Mockito.verify(criteriaBuilder).literal("CLIENTE");
+    }
+
+    @Test
+    void shouldUseNativeFunctionForFullTextOnPostgreSql() {
+        properties.setDefaultMode(TextSearchMode.FULL_TEXT);
+        Expression<Boolean> match = Mockito.mock(Expression.class);
+        Predicate predicate = Mockito.mock(Predicate.class);
+        when(criteriaBuilder.function(Mockito.eq(FullTextFunctionContributor.FULL_TEXT_FUNCTION_NAME), Mockito.eq(Boolean.class), Mockito.any(), Mockito.any())).thenReturn(match);
+        when(criteriaBuilder.isTrue(match)).thenReturn(predicate);
+
+        assertSame(predicate, new FilterTypeInferer(properties, DatabaseType.POSTGRESQL, h2FullTextIndex)
+                .inferPredicate(criteriaBuilder, root, "nombre", "juan", entityType));
+        Mockito.verifyNoInteractions(h2FullTextIndex);
+    }
+}
@@ -0,0 +1,37 @@
+package com.groupName.artefactName.utiles;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class H2JsonFunctionsTest {
+
+    private static final String DOCUMENTO = "{\"address\":{\"city\":\"Lima\",\"zip\":15001},\"tags\":[\"vip\",\"b2b\"],\"active\":true}";
+
+    @Test
+    void shouldMatchNestedObjectFragments() {
+        assertTrue(H2JsonFunctions.contains(DOCUMENTO, "{\"address\":{\"city\":\"Lima\"}}"));
+        assertTrue(H2JsonFunctions.contains(DOCUMENTO, "{\"address\":{\"zip\":15001},\"active\":true}"));
+        assertFalse(H2JsonFunctions.contains(DOCUMENTO, "{\"address\":{\"city\":\"Cusco\"}}"));
+    }
+
+    @Test
+    void shouldCompareScalarsByJsonType() {
+        assertFalse(H2JsonFunctions.contains(DOCUMENTO, "{\"address\":{\"zip\":\"15001\"}}"));
+    }
+
+    @Test
+    void shouldMatchArrayElementsLikePostgreSql() {
+        assertTrue(H2JsonFunctions.contains(DOCUMENTO, "{\"tags\":[\"vip\"]}"));
+        assertTrue(H2JsonFunctions.contains(DOCUMENTO, "{\"tags\":\"b2b\"}"));
+        assertFalse(H2JsonFunctions.contains(DOCUMENTO, "{\"tags\":[\"vip\",\"retail\"]}"));
+    }
+
+    @Test
+    void shouldHandleNullAndInvalidInput() {
+        assertNull(H2JsonFunctions.contains(null, "{}"));
+        assertFalse(H2JsonFunctions.contains("no es json", "{}"));
+    }
+}
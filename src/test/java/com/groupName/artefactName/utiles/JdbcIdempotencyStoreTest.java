@@ -0,0 +1,59 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.utiles.IdempotencyStore.Reservation;
+import com.groupName.artefactName.utiles.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcIdempotencyStoreTest {
+
+    private final AtomicLong reloj = new AtomicLong(1_000_000);
+    private JdbcIdempotencyStore nodoA;
+    private JdbcIdempotencyStore nodoB;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:idempotency" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:init.sql'", "sa", "");
+        // Dos instancias sobre la misma base simulan dos nodos
+        nodoA = new JdbcIdempotencyStore(dataSource, Duration.ofHours(1), Duration.ofMinutes(5), reloj::get);
+        nodoB = new JdbcIdempotencyStore(dataSource, Duration.ofHours(1), Duration.ofMinutes(5), reloj::get);
+    }
+
+    @Test
+    void shouldLetOnlyOneNodeAcquireAndShareTheStoredResponse() throws Exception {
+        assertEquals(Reservation.State.ACQUIRED, nodoA.reserve("k", "POST /api/bulk/user").state());
+        assertEquals(Reservation.State.IN_PROGRESS, nodoB.reserve("k", "POST /api/bulk/user").state());
+
+        byte[] cuerpo = "{\"id\":7}".getBytes(StandardCharsets.UTF_8);
+        nodoA.complete("k", new StoredResponse(201, "application/json", cuerpo));
+
+        Optional<StoredResponse> esperada = nodoB.await("k", Duration.ofSeconds(1));
+        assertTrue(esperada.isPresent());
+        Reservation repetida = nodoB.reserve("k", "POST /api/bulk/user");
+        assertEquals(Reservation.State.COMPLETED, repetida.state());
+        assertEquals(201, repetida.response().status());
+        assertArrayEquals(cuerpo, repetida.response().body());
+    }
+
+    @Test
+    void shouldFreeKeyOnReleaseAndOnceStoredResponseExpires() throws Exception {
+        nodoA.reserve("k", "POST /x");
+        nodoA.release("k");
+        assertTrue(nodoB.await("k", Duration.ofMillis(10)).isEmpty());
+        assertEquals(Reservation.State.ACQUIRED, nodoB.reserve("k", "POST /x").state());
+
+        nodoB.complete("k", new StoredResponse(200, null, new byte[0]));
+        reloj.addAndGet(Duration.ofHours(2).toMillis());
+        assertEquals(Reservation.State.ACQUIRED, nodoA.reserve("k", "POST /x").state());
+    }
+}
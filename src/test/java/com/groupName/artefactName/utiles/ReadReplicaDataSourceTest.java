@@ -0,0 +1,89 @@
+package com.groupName.artefactName.utiles;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadReplicaDataSourceTest {
+
+    private static final String PRIMARY = "jdbc:h2:mem:primary";
+    private static final String REPLICA_1 = "jdbc:h2:mem:replica1";
+    private static final String REPLICA_2 = "jdbc:h2:mem:replica2";
+    // Ningún servidor H2 escucha en ese puerto, así que la conexión siempre falla
+    private static final String DOWN = "jdbc:h2:tcp://localhost:1/down";
+
+    @Test
+    void shouldRouteReadOnlyConnectionsToReplicaAndWritesToPrimary() throws Exception {
+        DataSource primary = h2(PRIMARY);
+        try (ReadReplicaDataSource replicas = new ReadReplicaDataSource(primary, List.of(h2(REPLICA_1)), Duration.ZERO)) {
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+            proxy.setReadOnlyDataSource(replicas);
+
+            assertEquals(PRIMARY, url(proxy, false));
+            assertEquals(REPLICA_1, url(proxy, true));
+        }
+    }
+
+    @Test
+    void shouldRoundRobinAcrossReplicas() throws Exception {
+        try (ReadReplicaDataSource replicas = new ReadReplicaDataSource(h2(PRIMARY),
+                List.of(h2(REPLICA_1), h2(REPLICA_2)), Duration.ZERO)) {
+            assertEquals(REPLICA_1, url(replicas));
+            assertEquals(REPLICA_2, url(replicas));
+            assertEquals(REPLICA_1, url(replicas));
+        }
+    }
+
+    @Test
+    void shouldSkipFailedReplicaUntilHealthCheckRestoresIt() throws Exception {
+        try (ReadReplicaDataSource replicas = new ReadReplicaDataSource(h2(PRIMARY),
+                List.of(h2(DOWN), h2(REPLICA_1)), Duration.ZERO)) {
+            assertEquals(REPLICA_1, url(replicas));
+            assertEquals(1, replicas.healthyReplicas());
+            assertEquals(REPLICA_1, url(replicas));
+
+            replicas.checkHealth();
+            assertEquals(1, replicas.healthyReplicas());
+        }
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenNoReplicaIsAvailable() throws Exception {
+        try (ReadReplicaDataSource replicas = new ReadReplicaDataSource(h2(PRIMARY), List.of(h2(DOWN)), Duration.ZERO)) {
+            assertEquals(PRIMARY, url(replicas));
+            assertEquals(0, replicas.healthyReplicas());
+        }
+    }
+
+    private static DataSource h2(String url) {
+        return new DriverManagerDataSource(url.equals(DOWN) ? url : url + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static String url(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return database(connection);
+        }
+    }
+
+    private static String url(DataSource dataSource, boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            return database(connection);
+        }
+    }
+
+    // H2 puede devolver la URL sin los parámetros, así que se compara solo la parte de la base
+    private static String database(Connection connection) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        int parametros = url.indexOf(';');
+        return parametros < 0 ? url : url.substring(0, parametros);
+    }
+}
@@ -0,0 +1,82 @@
+package com.groupName.artefactName.utiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groupName.artefactName.config.SeedProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeedLoaderTest {
+
+    @TempDir
+    Path directorio;
+
+    private JdbcTemplate jdbcTemplate;
+    private SeedLoader seedLoader;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:seed;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists child");
+        jdbcTemplate.execute("drop table if exists parent");
+        jdbcTemplate.execute("create table parent (id bigint primary key, nombre varchar(50))");
+        jdbcTemplate.execute("create table child (id bigint primary key, parent_id bigint references parent(id), nota varchar(50))");
+
+        SeedProperties properties = new SeedProperties();
+        properties.setEnabled(true);
+        properties.setBackground(false);
+        properties.setLocation(directorio.toUri().toString());
+        properties.setBatchSize(2);
+        seedLoader = new SeedLoader(dataSource, DatabaseType.H2, properties,
+                new PathMatchingResourcePatternResolver(), new ObjectMapper());
+    }
+
+    @Test
+    void shouldOrderTablesByForeignKeys() throws Exception {
+        assertEquals(List.of(List.of("parent"), List.of("child")), seedLoader.levels(Set.of("child", "parent")));
+    }
+
+    @Test
+    void shouldLoadCsvAndNdjsonFixturesInDependencyOrder() throws Exception {
+        Files.writeString(directorio.resolve("parent.csv"), "id,nombre\n1,Uno\n2,\"Dos, con coma\"\n");
+        Files.writeString(directorio.resolve("child.ndjson"), """
+                {"id":10,"parent_id":1,"nota":"a"}
+                {"id":11,"parent_id":2,"nota":null}
+                {"id":12,"parent_id":2,"nota":"c"}
+                """);
+
+        seedLoader.run(null);
+
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from parent", Integer.class));
+        assertEquals("Dos, con coma", jdbcTemplate.queryForObject("select nombre from parent where id = 2", String.class));
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from child", Integer.class));
+        assertEquals(Status.UP, seedLoader.health().getStatus());
+        assertEquals(5L, seedLoader.health().getDetails().get("rows"));
+    }
+
+    @Test
+    void shouldReportDownWhenFixtureIsInvalid() throws Exception {
+        Files.writeString(directorio.resolve("child.ndjson"), "{\"id\":1,\"parent_id\":99}\n");
+
+        seedLoader.run(null);
+
+        assertEquals(Status.DOWN, seedLoader.health().getStatus());
+    }
+
+    @Test
+    void shouldParseQuotedCsvFields() {
+        assertEquals(List.of("a", "b \"c\"", "", "d,e"), SeedLoader.parseCsvLine("a,\"b \"\"c\"\"\",,\"d,e\""));
+    }
+}
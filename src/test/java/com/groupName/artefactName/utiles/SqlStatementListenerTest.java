@@ -0,0 +1,141 @@
+package com.groupName.artefactName.utiles;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatementListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource dataSource;
+    private SqlStatementListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SqlStatementListener(meterRegistry, Duration.ofSeconds(5), true);
+        dataSource = ProxyDataSourceBuilder.create(new DriverManagerDataSource("jdbc:h2:mem:sqlmetrics;DB_CLOSE_DELAY=-1", "sa", ""))
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .jdbcProxyFactory(SqlStatementListener.jdbcProxyFactory())
+                .build();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists item");
+            statement.execute("create table item (id bigint primary key, nombre varchar(50))");
+        }
+    }
+
+    @Test
+    void shouldNormalizeLiteralsAndInLists() {
+        assertEquals("select * from item where id in (?) and nombre = ? limit ?",
+                SqlStatementListener.normalize("select *  from item\n where id in (1, 2, 3) and nombre = 'it''s' limit 10"));
+        assertEquals("select i1_0.id from item i1_0 where i1_0.id in (?)",
+                SqlStatementListener.normalize("select i1_0.id from item i1_0 where i1_0.id in (?,?,?)"));
+    }
+
+    @Test
+    void shouldRecordLatencyAndRowsPerShape() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("insert into item (id, nombre) values (?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "item" + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("select id from item where id > ?")) {
+                select.setLong(1, 1);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getLong(1);
+                    }
+                }
+            }
+        }
+
+        Timer insertTimer = meterRegistry.find(SqlStatementListener.TIMER_NAME)
+                .tags("shape", "insert into item (id, nombre) values (?, ?)", "type", "insert", "outcome", "success")
+                .timer();
+        assertNotNull(insertTimer);
+        assertEquals(1, insertTimer.count());
+
+        DistributionSummary insertRows = meterRegistry.find(SqlStatementListener.ROWS_NAME).tags("type", "insert").summary();
+        assertNotNull(insertRows);
+        assertEquals(3, insertRows.totalAmount());
+
+        DistributionSummary selectRows = meterRegistry.find(SqlStatementListener.ROWS_NAME)
+                .tags("shape", "select id from item where id > ?", "type", "select")
+                .summary();
+        assertNotNull(selectRows);
+        assertEquals(2, selectRows.totalAmount());
+        // Buckets fijos por orden de magnitud, no el histograma de percentiles completo
+        assertEquals(6, selectRows.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    void closingOnlyTheStatementShouldRecordRowsAndForgetTheResultSet() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into item (id, nombre) values (1, 'a'), (2, 'b')");
+            }
+            PreparedStatement select = connection.prepareStatement("select id from item");
+            ResultSet rs = select.executeQuery();
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+            select.close();
+        }
+
+        DistributionSummary selectRows = meterRegistry.find(SqlStatementListener.ROWS_NAME)
+                .tags("shape", "select id from item", "type", "select")
+                .summary();
+        assertNotNull(selectRows);
+        assertEquals(2, selectRows.totalAmount());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(listener, "pendingSelects")).isEmpty());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(listener, "rowCounts")).isEmpty());
+    }
+
+    @Test
+    void streamingReadsShouldSkipTheResultSetProxy() throws Exception {
+        AtomicReference<ResultSet> leido = new AtomicReference<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("select id from item where nombre = ?")) {
+            select.setString(1, "x");
+            SqlStatementListener.streaming(() -> {
+                try (ResultSet rs = select.executeQuery()) {
+                    leido.set(rs);
+                    rs.next();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        assertFalse(Proxy.isProxyClass(leido.get().getClass()));
+        assertNull(meterRegistry.find(SqlStatementListener.ROWS_NAME).tags("type", "select").summary());
+        assertNotNull(meterRegistry.find(SqlStatementListener.TIMER_NAME).tags("type", "select").timer());
+    }
+}
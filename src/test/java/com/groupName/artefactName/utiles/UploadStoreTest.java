@@ -0,0 +1,118 @@
+package com.groupName.artefactName.utiles;
+
+import com.groupName.artefactName.config.UploadProperties;
+import com.groupName.artefactName.dto.UploadResponse;
+import com.groupName.artefactName.exceptions.ServiceOverloadedException;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadStoreTest {
+
+    @TempDir
+    Path directorio;
+
+    private UploadProperties properties;
+    private UploadStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UploadProperties();
+        properties.setDirectory(directorio);
+        store = new UploadStore(properties);
+    }
+
+    @Test
+    void shouldSpoolBodyToDisk() throws Exception {
+        byte[] datos = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(datos);
+
+        UploadResponse respuesta = store.store(new ByteArrayInputStream(datos));
+
+        assertEquals(datos.length, respuesta.getSize());
+        assertArrayEquals(datos, Files.readAllBytes(store.resolve(respuesta.getId())));
+    }
+
+    @Test
+    void shouldRemovePartialFileWhenUploadFails() throws Exception {
+        InputStream cortado = new InputStream() {
+            private int leidos;
+
+            @Override
+            public int read() throws IOException {
+                if (leidos++ > 1000) {
+                    throw new IOException("connection reset");
+                }
+                return 1;
+            }
+        };
+
+        assertThrows(IOException.class, () -> store.store(cortado));
+        assertDirectoryEmpty();
+    }
+
+    @Test
+    void shouldRejectIdsOutsideTheStore() {
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("../etc/passwd"));
+    }
+
+    @Test
+    void uploadsBeyondTheTotalSizeShouldBeRejectedAndRemoved() throws Exception {
+        properties.setMaxTotalSize(DataSize.ofBytes(1000));
+        store.store(new ByteArrayInputStream(new byte[600]));
+
+        assertThrows(ServiceOverloadedException.class, () -> store.store(new ByteArrayInputStream(new byte[401])));
+        try (var ficheros = Files.list(directorio)) {
+            assertEquals(1, ficheros.count());
+        }
+        assertEquals(400, store.store(new ByteArrayInputStream(new byte[400])).getSize());
+    }
+
+    @Test
+    void consumeShouldHandTheUploadToASingleReaderAndDeleteIt() throws Exception {
+        String id = store.store(new ByteArrayInputStream(new byte[]{1, 2, 3})).getId();
+
+        try (InputStream cuerpo = store.consume(id)) {
+            assertArrayEquals(new byte[]{1, 2, 3}, cuerpo.readAllBytes());
+            assertThrows(EntityNotFoundException.class, () -> store.consume(id));
+        }
+        assertDirectoryEmpty();
+        assertThrows(EntityNotFoundException.class, () -> store.consume("../etc/passwd"));
+    }
+
+    @Test
+    void purgeShouldDeleteOnlyExpiredUploads() throws Exception {
+        properties.setRetention(Duration.ofHours(1));
+        String viejo = store.store(new ByteArrayInputStream(new byte[]{1})).getId();
+        String nuevo = store.store(new ByteArrayInputStream(new byte[]{2})).getId();
+        Files.setLastModifiedTime(store.resolve(viejo), FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+
+        store.purgeExpired();
+
+        assertFalse(Files.exists(store.resolve(viejo)));
+        assertTrue(Files.exists(store.resolve(nuevo)));
+    }
+
+    private void assertDirectoryEmpty() throws IOException {
+        try (var ficheros = Files.list(directorio)) {
+            assertEquals(0, ficheros.count());
+        }
+    }
+}